@@ -30,6 +30,8 @@ import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import quest.gekko.spiketracker.service.MatchTrackingService;
+import quest.gekko.spiketracker.util.TimeSource;
+import quest.gekko.spiketracker.util.VirtualTimeSource;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -90,6 +92,16 @@ public class ApplicationConfig implements WebMvcConfigurer {
         return cacheManager;
     }
     
+    @Bean
+    public TimeSource timeSource(@Value("${app.clock.virtual:false}") final boolean virtual) {
+        if (virtual) {
+            log.warn("Using a virtual clock: tracker time only moves when advanced (e.g. by replay)");
+            return new VirtualTimeSource(System.currentTimeMillis());
+        }
+
+        return TimeSource.system();
+    }
+
     @Bean(name = "taskExecutor")
     public Executor taskExecutor() {
         final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -1,6 +1,7 @@
 package quest.gekko.spiketracker.config;
 
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.TimeMeter;
 import io.github.bucket4j.local.LocalBucket;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -21,10 +22,10 @@ import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWrite
 import org.springframework.security.web.servletapi.SecurityContextHolderAwareRequestFilter;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import quest.gekko.spiketracker.util.TimeSource;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
@@ -108,31 +109,48 @@ public class SecurityConfig {
 
         private static class BucketEntry {
             private final LocalBucket bucket;
-            private volatile LocalDateTime lastAccess;
+            private volatile long lastAccessNanos;
 
-            public BucketEntry(LocalBucket bucket) {
+            public BucketEntry(LocalBucket bucket, long nowNanos) {
                 this.bucket = bucket;
-                this.lastAccess = LocalDateTime.now();
+                this.lastAccessNanos = nowNanos;
             }
 
-            public LocalBucket getBucket() {
-                this.lastAccess = LocalDateTime.now();
+            public LocalBucket getBucket(long nowNanos) {
+                this.lastAccessNanos = nowNanos;
                 return bucket;
             }
 
-            public boolean isExpired(Duration maxAge) {
-                return lastAccess.isBefore(LocalDateTime.now().minus(maxAge));
+            public boolean isExpired(long maxAgeNanos, long nowNanos) {
+                return nowNanos - lastAccessNanos > maxAgeNanos;
             }
         }
 
         private final ConcurrentHashMap<String, BucketEntry> buckets = new ConcurrentHashMap<>();
         private final int requestsPerMinute;
-        private final Duration maxBucketAge = Duration.ofHours(1);
+        private final long maxBucketAgeNanos = Duration.ofHours(1).toNanos();
+
+        // Always the system clock: clients send requests in real time even while a replay runs the tracker on a
+        // virtual clock, and buckets measured against that clock would never refill outside the replay.
+        private final TimeSource timeSource;
+        private final TimeMeter timeMeter;
 
         private static final int MAX_BUCKETS = 10000;
 
         public RateLimitingFilter(@Value("${app.security.rate-limit.requests-per-minute:60}") final int requestsPerMinute) {
             this.requestsPerMinute = requestsPerMinute;
+            this.timeSource = TimeSource.system();
+            this.timeMeter = new TimeMeter() {
+                @Override
+                public long currentTimeNanos() {
+                    return timeSource.nanoTime();
+                }
+
+                @Override
+                public boolean isWallClockBased() {
+                    return false;
+                }
+            };
         }
 
         @Override
@@ -163,7 +181,7 @@ public class SecurityConfig {
         }
 
         private LocalBucket getBucketForClient(final String clientId) {
-            return buckets.computeIfAbsent(clientId, this::createBucketEntry).getBucket();
+            return buckets.computeIfAbsent(clientId, this::createBucketEntry).getBucket(timeSource.nanoTime());
         }
 
         private BucketEntry createBucketEntry(final String clientId) {
@@ -176,9 +194,10 @@ public class SecurityConfig {
                     .addLimit(limit -> limit
                             .capacity(requestsPerMinute)
                             .refillIntervally(requestsPerMinute, Duration.ofMinutes(1)))
+                    .withCustomTimePrecision(timeMeter)
                     .build();
 
-            return new BucketEntry(bucket);
+            return new BucketEntry(bucket, timeSource.nanoTime());
         }
 
         private boolean shouldSkipRateLimiting(final String requestURI) {
@@ -228,7 +247,8 @@ public class SecurityConfig {
         @Scheduled(fixedRate = 300000)
         public void cleanupExpiredBuckets() {
             final int initialSize = buckets.size();
-            buckets.entrySet().removeIf(entry -> entry.getValue().isExpired(maxBucketAge));
+            final long now = timeSource.nanoTime();
+            buckets.entrySet().removeIf(entry -> entry.getValue().isExpired(maxBucketAgeNanos, now));
             final int removed = initialSize - buckets.size();
 
             if (removed > 0) {
@@ -5,24 +5,35 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketSecurityConfig implements WebSocketMessageBrokerConfigurer {
+    // Broker topics for all matches, one match by vlr.gg id and one event by slug, plus the /app destinations
+    // WebController answers straight to the subscribing session with the matching current state.
+    private static final Pattern ALLOWED_DESTINATION = Pattern.compile(
+            "/topic/(matches(/\\d+)?|events/[a-z0-9-]{1,100})|/app/(matches/(snapshot|\\d+)|events/[a-z0-9-]{1,100})");
+
     @Value("${app.websocket.allowed-origins:http://localhost:3000,http://localhost:8080,https://spike.gekko.quest}")
     private String[] allowedOrigins;
 
@@ -52,6 +63,39 @@ public class WebSocketSecurityConfig implements WebSocketMessageBrokerConfigurer
         registration.interceptors(new WebSocketSecurityInterceptor());
     }
 
+    @Override
+    public boolean configureMessageConverters(final List<MessageConverter> messageConverters) {
+        // Ahead of everything else, including the converters Spring Boot registers, so pre-encoded payloads
+        // always go out untouched.
+        messageConverters.add(0, new PreEncodedJsonMessageConverter());
+        return true;
+    }
+
+    /**
+     * Passes {@code byte[]} payloads through as {@code application/json}. Live match messages are serialized once
+     * by {@code LiveMatchPayloads} and the same bytes are handed to the broker for every topic and reply.
+     */
+    private static class PreEncodedJsonMessageConverter extends AbstractMessageConverter {
+        PreEncodedJsonMessageConverter() {
+            super(MimeTypeUtils.APPLICATION_JSON);
+        }
+
+        @Override
+        protected boolean supports(final Class<?> clazz) {
+            return clazz == byte[].class;
+        }
+
+        @Override
+        protected Object convertFromInternal(final Message<?> message, final Class<?> targetClass, final Object conversionHint) {
+            return message.getPayload();
+        }
+
+        @Override
+        protected Object convertToInternal(final Object payload, final MessageHeaders headers, final Object conversionHint) {
+            return payload;
+        }
+    }
+
     private class WebSocketSecurityInterceptor implements ChannelInterceptor {
         @Override
         public Message<?> preSend(final Message<?> message, final MessageChannel channel) {
@@ -102,7 +146,7 @@ public class WebSocketSecurityConfig implements WebSocketMessageBrokerConfigurer
         private Message<?> handleSubscribe(final Message<?> message, final StompHeaderAccessor accessor) {
             final String destination = accessor.getDestination();
 
-            if (destination != null && !destination.startsWith("/topic/matches")) {
+            if (destination != null && !ALLOWED_DESTINATION.matcher(destination).matches()) {
                 log.warn("Unauthorized subscription attempt to: {}", destination);
                 return null;
             }
@@ -9,22 +9,28 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import quest.gekko.spiketracker.model.match.LiveMatchSnapshot;
 import quest.gekko.spiketracker.model.match.MatchHistory;
-import quest.gekko.spiketracker.model.match.MatchSegment;
+import quest.gekko.spiketracker.service.EncodedPayload;
+import quest.gekko.spiketracker.service.LiveMatchPayloads;
+import quest.gekko.spiketracker.service.LiveMatchPublisher;
+import quest.gekko.spiketracker.service.MatchEventLog;
 import quest.gekko.spiketracker.service.MatchHistoryService;
 import quest.gekko.spiketracker.service.MatchTrackingService;
 import quest.gekko.spiketracker.util.InputValidator;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -34,6 +40,8 @@ import java.util.Map;
 public class WebController {
     private final MatchTrackingService matchTrackingService;
     private final MatchHistoryService matchHistoryService;
+    private final LiveMatchPublisher liveMatchPublisher;
+    private final LiveMatchPayloads liveMatchPayloads;
     private final MeterRegistry meterRegistry;
     private final InputValidator inputValidator;
 
@@ -42,10 +50,14 @@ public class WebController {
 
     public WebController(final MatchTrackingService matchTrackingService,
                          final MatchHistoryService matchHistoryService,
+                         final LiveMatchPublisher liveMatchPublisher,
+                         final LiveMatchPayloads liveMatchPayloads,
                          final MeterRegistry meterRegistry,
                          final InputValidator inputValidator) {
         this.matchTrackingService = matchTrackingService;
         this.matchHistoryService = matchHistoryService;
+        this.liveMatchPublisher = liveMatchPublisher;
+        this.liveMatchPayloads = liveMatchPayloads;
         this.meterRegistry = meterRegistry;
         this.inputValidator = inputValidator;
     }
@@ -100,16 +112,36 @@ public class WebController {
                 .body(robots);
     }
 
+    /**
+     * The body is encoded once per snapshot version and served as is, gzipped when the client accepts it. The
+     * ETag is a hash of the content, per encoding, so a client polling with {@code If-None-Match} gets a 304 until
+     * something changes, whichever replica or process answers.
+     */
     @GetMapping("/api/matches")
     @ResponseBody
     @Timed(value = "api.matches.time", description = "Time taken to fetch live matches")
-    public ResponseEntity<ApiResponse<Collection<MatchSegment>>> matches() {
+    public ResponseEntity<?> matches(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
         try {
             meterRegistry.counter("api.requests", "endpoint", "matches").increment();
 
-            final Collection<MatchSegment> matches = matchTrackingService.getLiveMatches().values();
+            final LiveMatchSnapshot snapshot = matchTrackingService.getSnapshot();
+            final EncodedPayload payload = liveMatchPayloads.forSnapshot("rest-matches", snapshot,
+                    current -> ApiResponse.success(current.values(), "Retrieved " + current.size() + " live matches"));
+            final boolean gzip = EncodedPayload.acceptsGzip(acceptEncoding);
 
-            return ResponseEntity.ok(ApiResponse.success(matches, "Retrieved " + matches.size() + " live matches"));
+            // Stale means restored at startup and not yet confirmed by a poll.
+            final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(payload.etag(gzip))
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .header("X-Snapshot-Version", String.valueOf(payload.version()))
+                    .header("X-Snapshot-Stale", String.valueOf(payload.stale()));
+
+            if (gzip) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+            }
+
+            return response.body(payload.json());
         } catch (Exception e) {
             log.error("Error fetching live matches: {}", e.getMessage(), e);
             meterRegistry.counter("api.errors", "endpoint", "matches").increment();
@@ -117,6 +149,42 @@ public class WebController {
         }
     }
 
+    /**
+     * Server-sent events for clients that cannot use STOMP: a {@code snapshot} event, then a {@code patch} event
+     * per version, with the same JSON and sequence rules as {@code /topic/matches}. Reconnecting starts over with a
+     * fresh snapshot.
+     */
+    @GetMapping(value = "/api/matches/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<SseEmitter> matchStream() {
+        meterRegistry.counter("api.requests", "endpoint", "matches-stream").increment();
+
+        return liveMatchPublisher.openStream(matchTrackingService::getSnapshot)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @GetMapping("/api/matches/{id:\\d+}/events")
+    @ResponseBody
+    @Timed(value = "api.match.events.time", description = "Time taken to fetch match events")
+    public ResponseEntity<ApiResponse<MatchEventLog.Slice>> matchEvents(
+            @PathVariable final String id,
+            @RequestParam(defaultValue = "0") final long since,
+            @RequestParam(defaultValue = "0") final long epoch) {
+        meterRegistry.counter("api.requests", "endpoint", "match-events").increment();
+
+        if (since < 0) {
+            meterRegistry.counter("api.errors", "endpoint", "match-events", "type", "validation").increment();
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid since parameter: must not be negative"));
+        }
+
+        return matchTrackingService.getMatchEvents(id, since, epoch)
+                .map(slice -> ResponseEntity.ok(ApiResponse.success(slice,
+                        "Retrieved " + slice.events().size() + " events for match " + id)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("No live match with id " + id)));
+    }
+
     @GetMapping("/api/matches/history")
     @ResponseBody
     @Timed(value = "api.history.time", description = "Time taken to fetch match history")
@@ -234,11 +302,13 @@ public class WebController {
 
             final Map<String, Long> teamStats = matchHistoryService.getTeamStats();
             final Double avgDuration = matchHistoryService.getAverageMatchDuration();
+            final Double avgMargin = matchHistoryService.getAverageScoreMargin();
             final List<Object[]> eventStats = matchHistoryService.getEventStatistics();
 
             final Map<String, Object> stats = Map.of(
                     "teamStats", teamStats,
                     "averageMatchDuration", avgDuration != null ? avgDuration : 0.0,
+                    "averageScoreMargin", avgMargin != null ? avgMargin : 0.0,
                     "eventStatistics", eventStats,
                     "totalMatches", teamStats.values().stream().mapToLong(Long::longValue).sum() / 2,
                     "generatedAt", LocalDateTime.now()
@@ -253,26 +323,54 @@ public class WebController {
         }
     }
 
-    @MessageMapping("/matches/subscribe")
-    @SendTo("/topic/matches")
+    /**
+     * Replays the current snapshot to the session that subscribes to {@code /app/matches/snapshot} and nobody else.
+     * Clients subscribe here right after {@code /topic/matches}, so a reconnect costs one message to that client
+     * instead of a broadcast to every connected one. A client that sees a gap in the patch sequence subscribes
+     * again to resync.
+     */
+    @SubscribeMapping("/matches/snapshot")
     @Timed(value = "websocket.subscribe.time", description = "Time taken for WebSocket subscription")
-    public Collection<MatchSegment> subscribeToMatches() {
+    public byte[] subscribeToMatches() {
         try {
             meterRegistry.counter("api.requests", "endpoint", "websocket-subscribe").increment();
-            return matchTrackingService.getLiveMatches().values();
+            return liveMatchPublisher.snapshotPayload(matchTrackingService.getSnapshot());
         } catch (final Exception e) {
             log.error("Error handling WebSocket subscription: {}", e.getMessage(), e);
             meterRegistry.counter("api.errors", "endpoint", "websocket-subscribe").increment();
-            return List.of();
+            return liveMatchPublisher.snapshotPayload(LiveMatchSnapshot.EMPTY);
         }
     }
 
+    /**
+     * Current state for a widget about to follow {@code /topic/matches/{id}}: the live match with that vlr.gg id,
+     * or none. Sent to the subscribing session only, like the full snapshot.
+     */
+    @SubscribeMapping("/matches/{id:\\d+}")
+    public byte[] subscribeToMatch(@DestinationVariable final String id) {
+        meterRegistry.counter("api.requests", "endpoint", "websocket-subscribe-match").increment();
+        return liveMatchPublisher.matchPayload(matchTrackingService.getSnapshot(), id);
+    }
+
+    /**
+     * Current state for a widget about to follow {@code /topic/events/{slug}}: every live match of that event.
+     */
+    @SubscribeMapping("/events/{slug}")
+    public byte[] subscribeToEvent(@DestinationVariable final String slug) {
+        meterRegistry.counter("api.requests", "endpoint", "websocket-subscribe-event").increment();
+        return liveMatchPublisher.eventPayload(matchTrackingService.getSnapshot(), slug);
+    }
+
     @PostMapping("/api/admin/refresh")
     @ResponseBody
     public ResponseEntity<ApiResponse<String>> forceRefresh() {
         try {
             meterRegistry.counter("api.requests", "endpoint", "admin-refresh").increment();
-            matchTrackingService.forceRefresh();
+            if (!matchTrackingService.forceRefresh()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("This node is a follower; send the refresh to the leader"));
+            }
+
             return ResponseEntity.ok(ApiResponse.success("OK", "Match data refreshed successfully"));
         } catch (final Exception e) {
             log.error("Error during forced refresh: {}", e.getMessage(), e);
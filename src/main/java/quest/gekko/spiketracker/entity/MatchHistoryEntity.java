@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import quest.gekko.spiketracker.model.match.MatchScore;
 
 import java.time.LocalDateTime;
 
@@ -53,6 +54,16 @@ public class MatchHistoryEntity {
     @Column(name = "final_score2", nullable = false, length = 10)
     private String finalScore2;
 
+    // Parsed once when the row is written; null when upstream sent something that is not a number.
+    @Column(name = "score1")
+    private Integer score1;
+
+    @Column(name = "score2")
+    private Integer score2;
+
+    @Column(name = "map_number")
+    private Integer mapNumber;
+
     @Column(name = "match_event", length = 200)
     private String matchEvent;
 
@@ -99,15 +110,14 @@ public class MatchHistoryEntity {
     }
 
     public String getWinner() {
-        try {
-            int score1 = Integer.parseInt(finalScore1);
-            int score2 = Integer.parseInt(finalScore2);
-
-            if (score1 > score2) return team1;
-            if (score2 > score1) return team2;
-            return "Draw";
-        } catch (NumberFormatException e) {
-            return "Unknown";
-        }
+        if (score1 == null || score2 == null) return "Unknown";
+
+        if (score1 > score2) return team1;
+        if (score2 > score1) return team2;
+        return "Draw";
+    }
+
+    public int getMargin() {
+        return score1 == null || score2 == null ? MatchScore.UNKNOWN : Math.abs(score1 - score2);
     }
 }
\ No newline at end of file
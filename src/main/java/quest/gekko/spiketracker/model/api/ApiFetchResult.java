@@ -0,0 +1,50 @@
+package quest.gekko.spiketracker.model.api;
+
+import quest.gekko.spiketracker.model.match.LiveMatchData;
+
+/**
+ * Outcome of a live_score fetch. {@code upstreamAgeMs} is how long the response had been sitting in the upstream
+ * cache (from the {@code Age} header), or {@code -1} when unknown.
+ */
+public record ApiFetchResult(Status status, LiveMatchData data, long upstreamAgeMs) {
+    public static final long UNKNOWN_AGE = -1;
+
+    private static final ApiFetchResult NOT_MODIFIED = new ApiFetchResult(Status.NOT_MODIFIED, null, UNKNOWN_AGE);
+    private static final ApiFetchResult FAILED = new ApiFetchResult(Status.FAILED, null, UNKNOWN_AGE);
+
+    public static ApiFetchResult updated(final LiveMatchData data) {
+        return new ApiFetchResult(Status.UPDATED, data, UNKNOWN_AGE);
+    }
+
+    public static ApiFetchResult notModified() {
+        return NOT_MODIFIED;
+    }
+
+    public static ApiFetchResult failed() {
+        return FAILED;
+    }
+
+    public ApiFetchResult withUpstreamAge(final long ageMs) {
+        return ageMs == upstreamAgeMs ? this : new ApiFetchResult(status, data, ageMs);
+    }
+
+    public boolean hasUpstreamAge() {
+        return upstreamAgeMs >= 0;
+    }
+
+    public boolean isUpdated() {
+        return status == Status.UPDATED;
+    }
+
+    public boolean isNotModified() {
+        return status == Status.NOT_MODIFIED;
+    }
+
+    public boolean isFailed() {
+        return status == Status.FAILED;
+    }
+
+    public enum Status {
+        UPDATED, NOT_MODIFIED, FAILED
+    }
+}
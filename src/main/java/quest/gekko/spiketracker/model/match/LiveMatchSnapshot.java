@@ -0,0 +1,65 @@
+package quest.gekko.spiketracker.model.match;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the live matches as of one update cycle. A new instance is published whenever the set of
+ * matches changes, with a version one higher than the last, so readers can share it freely and use the version
+ * as a cache key.
+ * <p>
+ * {@code stale} is set while the matches come from state restored at startup rather than from a poll.
+ */
+public record LiveMatchSnapshot(
+        long version,
+        Instant builtAt,
+        Map<String, MatchSegment> matches,
+        List<MatchSegment> values,
+        boolean stale
+) {
+    public static final LiveMatchSnapshot EMPTY = new LiveMatchSnapshot(0, Instant.EPOCH, Map.of(), List.of(), false);
+
+    /**
+     * {@code builtAt} comes from the caller's {@link quest.gekko.spiketracker.util.TimeSource}, so snapshots built
+     * under virtual time carry virtual timestamps.
+     */
+    public static LiveMatchSnapshot of(final long version, final Instant builtAt, final Collection<MatchSegment> segments) {
+        return of(version, builtAt, segments, false);
+    }
+
+    public static LiveMatchSnapshot of(final long version, final Instant builtAt, final Collection<MatchSegment> segments,
+                                       final boolean stale) {
+        final Map<String, MatchSegment> matches = new LinkedHashMap<>(segments.size() * 2);
+
+        for (final MatchSegment segment : segments) {
+            matches.put(segment.match_page(), segment);
+        }
+
+        return new LiveMatchSnapshot(
+                version,
+                builtAt,
+                Collections.unmodifiableMap(matches),
+                List.copyOf(matches.values()),
+                stale
+        );
+    }
+
+    /**
+     * Same matches and version with the stale flag changed; the content did not change, only how much to trust it.
+     */
+    public LiveMatchSnapshot withStale(final boolean value) {
+        return value == stale ? this : new LiveMatchSnapshot(version, builtAt, matches, values, value);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+}
@@ -0,0 +1,52 @@
+package quest.gekko.spiketracker.model.match;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * What happened to one match in one update cycle. {@code segment} is the match as clients see it after the
+ * change (or its last known state for completed and removed matches) and {@code score} its parsed score line;
+ * {@code changes} lists which groups of fields differ and is only populated for {@link Type#UPDATED}.
+ * {@code observedAt} is the epoch millis the change was seen, or for completed and removed matches when the
+ * match was last seen live.
+ */
+public record MatchDelta(
+        Type type,
+        String matchId,
+        MatchSegment segment,
+        MatchScore score,
+        Set<Field> changes,
+        long observedAt
+) {
+
+    public enum Type {
+        NEW, UPDATED, COMPLETED, REMOVED
+    }
+
+    public enum Field {
+        SCORE, ROUND_SPLIT, MAP, STREAM_LINK, TIMING
+    }
+
+    public static MatchDelta added(final MatchSegment segment, final MatchScore score, final long observedAt) {
+        return new MatchDelta(Type.NEW, segment.match_page(), segment, score, Set.of(), observedAt);
+    }
+
+    public static MatchDelta updated(final MatchSegment segment, final MatchScore score,
+                                     final EnumSet<Field> changes, final long observedAt) {
+        return new MatchDelta(Type.UPDATED, segment.match_page(), segment, score,
+                Collections.unmodifiableSet(changes), observedAt);
+    }
+
+    public static MatchDelta completed(final MatchSegment segment, final MatchScore score, final long lastSeenAt) {
+        return new MatchDelta(Type.COMPLETED, segment.match_page(), segment, score, Set.of(), lastSeenAt);
+    }
+
+    public static MatchDelta removed(final MatchSegment segment, final MatchScore score, final long lastSeenAt) {
+        return new MatchDelta(Type.REMOVED, segment.match_page(), segment, score, Set.of(), lastSeenAt);
+    }
+
+    public boolean has(final Field field) {
+        return changes.contains(field);
+    }
+}
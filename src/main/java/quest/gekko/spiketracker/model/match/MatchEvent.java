@@ -0,0 +1,36 @@
+package quest.gekko.spiketracker.model.match;
+
+import java.util.Set;
+
+/**
+ * One observed change to a live match: which groups of fields moved and the score line right after.
+ * {@code seq} increases by one per event within a match, so a client that has seen {@code seq} can ask for
+ * everything after it.
+ */
+public record MatchEvent(
+        long seq,
+        long timestamp,
+        Set<MatchDelta.Field> changes,
+        int score1,
+        int score2,
+        int team1Rounds,
+        int team2Rounds,
+        int mapNumber,
+        String currentMap
+) {
+    public static MatchEvent of(final long seq, final MatchDelta delta) {
+        final MatchScore score = delta.score();
+
+        return new MatchEvent(
+                seq,
+                delta.observedAt(),
+                delta.changes(),
+                score.score1(),
+                score.score2(),
+                score.team1Rounds(),
+                score.team2Rounds(),
+                score.mapNumber(),
+                delta.segment().current_map()
+        );
+    }
+}
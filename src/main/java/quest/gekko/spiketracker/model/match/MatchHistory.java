@@ -18,5 +18,9 @@ public record MatchHistory(
         String match_page,
         String streamLink,
         long durationMinutes,
-        String winner
+        String winner,
+        int score1,
+        int score2,
+        int mapNumber,
+        int margin
 ) { }
\ No newline at end of file
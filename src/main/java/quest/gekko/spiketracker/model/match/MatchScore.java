@@ -0,0 +1,76 @@
+package quest.gekko.spiketracker.model.match;
+
+/**
+ * Numeric form of a match's score line, parsed once from the upstream strings when they change. Any value that
+ * is missing or not a plain non-negative number is {@link #UNKNOWN}, so callers never need to parse or catch.
+ */
+public record MatchScore(
+        int score1,
+        int score2,
+        int team1RoundCt,
+        int team1RoundT,
+        int team2RoundCt,
+        int team2RoundT,
+        int mapNumber
+) {
+    public static final int UNKNOWN = -1;
+    public static final MatchScore NONE = new MatchScore(UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN);
+
+    // Scores, round counts and map numbers are all small; anything longer is not a score. Four digits also keeps
+    // every value inside the SMALLINT columns of match_history, matching the V4 backfill.
+    private static final int MAX_DIGITS = 4;
+
+    public static MatchScore of(final MatchSegment segment) {
+        return new MatchScore(
+                parse(segment.score1()),
+                parse(segment.score2()),
+                parse(segment.team1_round_ct()),
+                parse(segment.team1_round_t()),
+                parse(segment.team2_round_ct()),
+                parse(segment.team2_round_t()),
+                parse(segment.map_number())
+        );
+    }
+
+    public static int parse(final String value) {
+        if (value == null) {
+            return UNKNOWN;
+        }
+
+        final String trimmed = value.strip();
+
+        if (trimmed.isEmpty() || trimmed.length() > MAX_DIGITS) {
+            return UNKNOWN;
+        }
+
+        int result = 0;
+
+        for (int i = 0; i < trimmed.length(); i++) {
+            final char c = trimmed.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return UNKNOWN;
+            }
+
+            result = result * 10 + (c - '0');
+        }
+
+        return result;
+    }
+
+    public boolean isKnown() {
+        return score1 != UNKNOWN && score2 != UNKNOWN;
+    }
+
+    public int team1Rounds() {
+        return sum(team1RoundCt, team1RoundT);
+    }
+
+    public int team2Rounds() {
+        return sum(team2RoundCt, team2RoundT);
+    }
+
+    private static int sum(final int a, final int b) {
+        return a == UNKNOWN || b == UNKNOWN ? UNKNOWN : a + b;
+    }
+}
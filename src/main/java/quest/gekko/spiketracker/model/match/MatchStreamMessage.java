@@ -0,0 +1,125 @@
+package quest.gekko.spiketracker.model.match;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * What WebSocket clients receive about live matches. A {@code snapshot} carries every match and is only sent to a
+ * client that asks for one; after that, {@code /topic/matches} carries {@code patch} messages with the matches that
+ * were added, the fields that changed per match (keyed by {@code match_page}) and the matches that went away.
+ * <p>
+ * {@code seq} is the {@link LiveMatchSnapshot} version the message brings a client to and {@code prev} the version
+ * a patch applies on top of. A client whose version is not {@code prev} has missed something and must take a new
+ * snapshot.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record MatchStreamMessage(
+        String type,
+        long seq,
+        Long prev,
+        Boolean stale,
+        List<MatchSegment> matches,
+        List<MatchSegment> added,
+        Map<String, Map<String, String>> changed,
+        List<String> removed
+) {
+    public static final String SNAPSHOT = "snapshot";
+    public static final String PATCH = "patch";
+
+    // JSON property names as MatchSegment serializes them, with the accessor for each.
+    private static final List<Map.Entry<String, Function<MatchSegment, String>>> FIELDS = List.of(
+            Map.entry("team1", MatchSegment::team1),
+            Map.entry("team2", MatchSegment::team2),
+            Map.entry("flag1", MatchSegment::flag1),
+            Map.entry("flag2", MatchSegment::flag2),
+            Map.entry("team1_logo", MatchSegment::team1_logo),
+            Map.entry("team2_logo", MatchSegment::team2_logo),
+            Map.entry("score1", MatchSegment::score1),
+            Map.entry("score2", MatchSegment::score2),
+            Map.entry("team1_round_ct", MatchSegment::team1_round_ct),
+            Map.entry("team1_round_t", MatchSegment::team1_round_t),
+            Map.entry("team2_round_ct", MatchSegment::team2_round_ct),
+            Map.entry("team2_round_t", MatchSegment::team2_round_t),
+            Map.entry("map_number", MatchSegment::map_number),
+            Map.entry("current_map", MatchSegment::current_map),
+            Map.entry("time_until_match", MatchSegment::time_until_match),
+            Map.entry("match_event", MatchSegment::match_event),
+            Map.entry("match_series", MatchSegment::match_series),
+            Map.entry("unix_timestamp", MatchSegment::unix_timestamp),
+            Map.entry("streamLink", MatchSegment::streamLink)
+    );
+
+    public static MatchStreamMessage snapshot(final LiveMatchSnapshot snapshot) {
+        return snapshot(snapshot, snapshot.values());
+    }
+
+    /**
+     * A snapshot of only some of the matches in {@code snapshot}, for topics scoped to one match or event.
+     */
+    public static MatchStreamMessage snapshot(final LiveMatchSnapshot snapshot, final List<MatchSegment> matches) {
+        return new MatchStreamMessage(SNAPSHOT, snapshot.version(), null, snapshot.stale(), matches, null, null, null);
+    }
+
+    /**
+     * Everything a client holding {@code previous} needs to arrive at {@code current}.
+     */
+    public static MatchStreamMessage patch(final LiveMatchSnapshot previous, final LiveMatchSnapshot current) {
+        final List<MatchSegment> added = new ArrayList<>();
+        final Map<String, Map<String, String>> changed = new LinkedHashMap<>();
+        final List<String> removed = new ArrayList<>();
+
+        for (final MatchSegment segment : current.values()) {
+            final MatchSegment before = previous.matches().get(segment.match_page());
+
+            if (before == null) {
+                added.add(segment);
+            } else if (before != segment) {
+                final Map<String, String> fields = changedFields(before, segment);
+
+                if (!fields.isEmpty()) {
+                    changed.put(segment.match_page(), fields);
+                }
+            }
+        }
+
+        for (final String matchId : previous.matches().keySet()) {
+            if (!current.matches().containsKey(matchId)) {
+                removed.add(matchId);
+            }
+        }
+
+        return new MatchStreamMessage(PATCH, current.version(), previous.version(), null, null, added, changed, removed);
+    }
+
+    /**
+     * False for a patch between two versions whose matches only differ in ways clients never see.
+     */
+    public boolean hasChanges() {
+        return !PATCH.equals(type) || !added.isEmpty() || !changed.isEmpty() || !removed.isEmpty();
+    }
+
+    private static Map<String, String> changedFields(final MatchSegment before, final MatchSegment after) {
+        Map<String, String> fields = null;
+
+        for (final Map.Entry<String, Function<MatchSegment, String>> field : FIELDS) {
+            final String value = field.getValue().apply(after);
+
+            if (!Objects.equals(field.getValue().apply(before), value)) {
+                if (fields == null) {
+                    fields = new LinkedHashMap<>();
+                }
+
+                // A field that was cleared goes out as null so the client drops its old value.
+                fields.put(field.getKey(), value);
+            }
+        }
+
+        return fields == null ? Map.of() : fields;
+    }
+}
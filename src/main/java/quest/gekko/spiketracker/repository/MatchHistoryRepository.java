@@ -36,6 +36,9 @@ public interface MatchHistoryRepository extends JpaRepository<MatchHistoryEntity
     @Query("SELECT AVG(m.durationMinutes) FROM MatchHistoryEntity m WHERE m.durationMinutes > 0")
     Double getAverageMatchDuration();
 
+    @Query("SELECT AVG(ABS(m.score1 - m.score2)) FROM MatchHistoryEntity m WHERE m.score1 IS NOT NULL AND m.score2 IS NOT NULL")
+    Double getAverageScoreMargin();
+
     boolean existsByMatchPage(final String matchPage);
 
     void deleteByCompletedAtBefore(final LocalDateTime cutoffDate);
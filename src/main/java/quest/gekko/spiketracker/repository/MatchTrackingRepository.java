@@ -19,13 +19,16 @@ public interface MatchTrackingRepository extends JpaRepository<MatchTrackingEnti
 
     List<MatchTrackingEntity> findByStatusOrderByStartTimeDesc(final MatchTrackingEntity.MatchStatus status);
 
+    List<MatchTrackingEntity> findByStatusAndStartTimeAfter(final MatchTrackingEntity.MatchStatus status, final LocalDateTime startedAfter);
+
     @Modifying
     @Query("UPDATE MatchTrackingEntity m SET m.status = :newStatus WHERE m.matchId = :matchId")
     int updateMatchStatus(@Param("matchId") String matchId, @Param("newStatus") final MatchTrackingEntity.MatchStatus newStatus);
 
     @Modifying
     @Query("UPDATE MatchTrackingEntity m SET m.lastScore1 = :score1, m.lastScore2 = :score2, " +
-            "m.currentMap = :currentMap, m.streamLink = :streamLink WHERE m.matchId = :matchId")
+            "m.currentMap = :currentMap, m.streamLink = :streamLink, m.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE m.matchId = :matchId")
     int updateMatchDetails(@Param("matchId") final String matchId,
                            @Param("score1") final String score1,
                            @Param("score2") final String score2,
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import quest.gekko.spiketracker.util.TimeSource;
 
 @Slf4j
 @Service
@@ -12,6 +13,8 @@ public class AdaptivePollingService {
     private final int idleInterval;
     private final int deepIdleInterval;
     private final int maxEmptyPolls;
+    private final MatchScheduleService scheduleService;
+    private final TimeSource timeSource;
 
     @Getter
     private int currentInterval;
@@ -24,7 +27,11 @@ public class AdaptivePollingService {
             @Value("${app.match-tracking.active-interval:15000}") final int activeInterval,
             @Value("${app.match-tracking.idle-interval:120000}") final int idleInterval,
             @Value("${app.match-tracking.deep-idle-interval:300000}") final int deepIdleInterval,
-            @Value("${app.match-tracking.max-empty-polls:10}") final int maxEmptyPolls) {
+            @Value("${app.match-tracking.max-empty-polls:10}") final int maxEmptyPolls,
+            final MatchScheduleService scheduleService,
+            final TimeSource timeSource) {
+        this.scheduleService = scheduleService;
+        this.timeSource = timeSource;
         this.activeInterval = activeInterval;
         this.idleInterval = idleInterval;
         this.deepIdleInterval = deepIdleInterval;
@@ -45,16 +52,33 @@ public class AdaptivePollingService {
 
         consecutiveEmptyPolls++;
 
+        final long now = timeSource.currentTimeMillis();
+
+        // A match is expected to go live shortly (or is running late): poll as if it were already live.
+        if (scheduleService.isWithinStartWindow(now)) {
+            currentInterval = activeInterval;
+            pollingMode = "PRE_MATCH";
+            log.debug("Expected match start imminent, polling at active interval");
+            return activeInterval;
+        }
+
+        // With a trusted schedule and nothing imminent, skip the gradual back-off and sleep until the next ramp.
+        if (scheduleService.isScheduleFresh()) {
+            currentInterval = capToNextRamp(deepIdleInterval, now);
+            pollingMode = "DEEP_IDLE";
+            return currentInterval;
+        }
+
         if (consecutiveEmptyPolls > maxEmptyPolls) {
-            currentInterval = deepIdleInterval;
+            currentInterval = capToNextRamp(deepIdleInterval, now);
             pollingMode = "DEEP_IDLE";
             log.debug("Switching to deep idle mode after {} empty polls", consecutiveEmptyPolls);
-            return deepIdleInterval;
+            return currentInterval;
         } else if (consecutiveEmptyPolls > (maxEmptyPolls / 2)) {
-            currentInterval = idleInterval;
+            currentInterval = capToNextRamp(idleInterval, now);
             pollingMode = "IDLE";
             log.debug("Switching to idle mode after {} empty polls", consecutiveEmptyPolls);
-            return idleInterval;
+            return currentInterval;
         }
 
         currentInterval = activeInterval;
@@ -62,6 +86,16 @@ public class AdaptivePollingService {
         return activeInterval;
     }
 
+    private int capToNextRamp(final int interval, final long now) {
+        final long untilRamp = scheduleService.millisUntilNextRamp(now);
+
+        if (untilRamp < 0 || untilRamp >= interval) {
+            return interval;
+        }
+
+        return (int) Math.max(activeInterval, untilRamp);
+    }
+
     public double calculateHourlyDbConnections() {
         return 3600000.0 / currentInterval; // 3600000ms = 1 hour
     }
@@ -0,0 +1,117 @@
+package quest.gekko.spiketracker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Merges bursts of broadcast requests from polling, stream link scrapes and cluster snapshots into single
+ * outbound messages. A request made while idle goes out at once; after that, broadcasts are at least
+ * {@code minInterval} apart and every request made in between is folded into the next one. No request waits
+ * longer than {@code maxDelay}, even if that means two broadcasts closer together than {@code minInterval}.
+ * <p>
+ * All state is confined to the match-update thread: requests are made there and the timer hops back onto it
+ * before flushing. Times are read from the task scheduler's own clock, so due times always agree with when the
+ * scheduler actually fires, and a scheduler with a manual clock makes the timing deterministic in tests.
+ */
+final class BroadcastCoalescer {
+    private final Runnable broadcast;
+    private final Executor updateExecutor;
+    private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Duration minInterval;
+    private final Duration maxDelay;
+    private final Counter sent;
+
+    private boolean pending;
+    private Instant lastSentAt;
+    private ScheduledFuture<?> timer;
+
+    BroadcastCoalescer(final Runnable broadcast, final Executor updateExecutor, final TaskScheduler taskScheduler,
+                       final MeterRegistry meterRegistry, final long minIntervalMs, final long maxDelayMs) {
+        this.broadcast = broadcast;
+        this.updateExecutor = updateExecutor;
+        this.taskScheduler = taskScheduler;
+        this.meterRegistry = meterRegistry;
+        this.clock = taskScheduler.getClock();
+        this.minInterval = Duration.ofMillis(Math.max(0, minIntervalMs));
+        this.maxDelay = Duration.ofMillis(Math.max(0, maxDelayMs));
+        this.sent = meterRegistry.counter("broadcast.sent");
+        this.lastSentAt = clock.instant().minus(minInterval);
+    }
+
+    /**
+     * Asks for the current state to be broadcast. Update thread only.
+     */
+    void request(final String source) {
+        meterRegistry.counter("broadcast.requests", "source", source).increment();
+
+        if (pending) {
+            // Already due at a time fixed by the first pending request and the last send; nothing to reschedule.
+            meterRegistry.counter("broadcast.coalesced", "source", source).increment();
+            return;
+        }
+
+        final Instant now = clock.instant();
+        final Instant earliest = lastSentAt.plus(minInterval);
+        final Instant latest = now.plus(maxDelay);
+        final Instant dueAt = earliest.isAfter(latest) ? latest : earliest;
+
+        if (!dueAt.isAfter(now)) {
+            send(now);
+            return;
+        }
+
+        pending = true;
+        timer = taskScheduler.schedule(() -> updateExecutor.execute(this::onTimer), dueAt);
+    }
+
+    /**
+     * Sends whatever is pending right away, together with this request. Update thread only.
+     */
+    void flush(final String source) {
+        meterRegistry.counter("broadcast.requests", "source", source).increment();
+
+        if (pending) {
+            meterRegistry.counter("broadcast.coalesced", "source", source).increment();
+        }
+
+        cancelTimer();
+        send(clock.instant());
+    }
+
+    void cancel() {
+        cancelTimer();
+    }
+
+    private void onTimer() {
+        timer = null;
+
+        if (pending) {
+            send(clock.instant());
+        }
+    }
+
+    private void send(final Instant now) {
+        pending = false;
+        lastSentAt = now;
+        sent.increment();
+        broadcast.run();
+    }
+
+    private void cancelTimer() {
+        pending = false;
+
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+    }
+}
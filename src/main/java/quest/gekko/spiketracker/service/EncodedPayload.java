@@ -0,0 +1,138 @@
+package quest.gekko.spiketracker.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One message serialized to JSON exactly once, shared by every channel that sends it. The gzip variant is built
+ * on first use and kept alongside.
+ * <p>
+ * The arrays are handed out as they are, without copying; callers must never modify them.
+ */
+public final class EncodedPayload {
+    private final long version;
+    private final boolean stale;
+    private final byte[] json;
+    private volatile byte[] gzip;
+    private volatile String contentTag;
+
+    EncodedPayload(final long version, final boolean stale, final byte[] json) {
+        this.version = version;
+        this.stale = stale;
+        this.json = json;
+    }
+
+    /**
+     * Snapshot version this payload was encoded from.
+     */
+    public long version() {
+        return version;
+    }
+
+    public boolean stale() {
+        return stale;
+    }
+
+    public byte[] json() {
+        return json;
+    }
+
+    public byte[] gzip() {
+        byte[] compressed = gzip;
+
+        if (compressed == null) {
+            // Two threads may both compress once; the result is the same either way.
+            compressed = compress(json);
+            gzip = compressed;
+        }
+
+        return compressed;
+    }
+
+    /**
+     * Strong validator for HTTP caching, derived from the JSON itself rather than the snapshot version: versions
+     * restart with the process and differ between replicas, content does not. Each encoding gets its own tag,
+     * since the gzip and identity bodies are different bytes.
+     */
+    public String etag(final boolean gzipped) {
+        String tag = contentTag;
+
+        if (tag == null) {
+            tag = digest(json);
+            contentTag = tag;
+        }
+
+        return "\"" + tag + (stale ? "-stale" : "") + (gzipped ? "-gzip" : "") + "\"";
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows gzip: listed as {@code gzip}, {@code x-gzip} or {@code *}
+     * with a non-zero quality, and not excluded by name with {@code q=0}.
+     */
+    public static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+
+        Boolean named = null;
+        boolean wildcard = false;
+
+        for (final String entry : acceptEncoding.split(",")) {
+            final String[] parts = entry.split(";");
+            final String coding = parts[0].strip().toLowerCase(Locale.ROOT);
+            final boolean allowed = quality(parts) > 0;
+
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                named = named == null ? allowed : named || allowed;
+            } else if (coding.equals("*")) {
+                wildcard = allowed;
+            }
+        }
+
+        return named != null ? named : wildcard;
+    }
+
+    private static double quality(final String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            final String parameter = parts[i].strip();
+
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).strip());
+                } catch (final NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+
+        return 1;
+    }
+
+    private static String digest(final byte[] data) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] compress(final byte[] data) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,425 @@
+package quest.gekko.spiketracker.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Elects a single polling node across replicas with a Postgres session-level advisory lock. The lock is held on a
+ * dedicated connection outside the Hikari pool, so it is released by Postgres as soon as the leader's session
+ * dies and a follower picks it up on its next heartbeat.
+ * <p>
+ * The leader publishes each live match snapshot with {@code NOTIFY}, gzipped, base64 encoded and split into
+ * chunks that fit the 8000 byte payload limit. Followers {@code LISTEN}, reassemble the snapshot and hand it to
+ * {@link MatchTrackingService} as a {@link ClusterSnapshotEvent} so they can serve their own WebSocket clients.
+ * The latest snapshot is sent again on every leader heartbeat, so a follower that starts listening while nothing
+ * changes, or that missed a notification while reconnecting, catches up within one heartbeat.
+ * <p>
+ * One coordinator thread owns the connection and does all lock, notify and listen work. When disabled, this node
+ * is always the leader and nothing touches the database.
+ */
+@Slf4j
+@Service
+public class LeaderElectionService {
+    private static final int CHUNK_SIZE = 7000;
+    private static final int NOTIFICATION_WAIT_MS = 250;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final long lockKey;
+    private final long heartbeatMs;
+    private final String channel;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong snapshotSequence = new AtomicLong();
+    private final AtomicReference<List<MatchSegment>> pendingSnapshot = new AtomicReference<>();
+    private volatile List<MatchSegment> latestSnapshot;
+
+    private volatile boolean leader;
+    private volatile boolean running;
+    private volatile long lastHeartbeat = 0;
+
+    // Coordinator thread only.
+    private Thread coordinator;
+    private Connection connection;
+    private long nextHeartbeat;
+    private String assemblingId;
+    private String[] assemblingChunks;
+
+    public LeaderElectionService(
+            final DataSourceProperties dataSourceProperties,
+            final ApplicationEventPublisher eventPublisher,
+            final ObjectMapper objectMapper,
+            final MeterRegistry meterRegistry,
+            @Value("${app.cluster.leader-election.enabled:false}") final boolean enabled,
+            @Value("${app.cluster.leader-election.lock-key:7270420}") final long lockKey,
+            @Value("${app.cluster.leader-election.heartbeat-ms:5000}") final long heartbeatMs,
+            @Value("${app.cluster.leader-election.channel:spike_tracker_snapshot}") final String channel) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.lockKey = lockKey;
+        this.heartbeatMs = heartbeatMs;
+        this.channel = channel;
+
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+        }
+
+        meterRegistry.gauge("cluster.leader", this, service -> service.leader ? 1 : 0);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            leader = true;
+            log.info("Leader election disabled, this node polls on its own");
+            return;
+        }
+
+        running = true;
+        coordinator = new Thread(this::run, "cluster-coordinator");
+        coordinator.setDaemon(true);
+        coordinator.start();
+
+        log.info("Leader election enabled (node {}, lock key {}, heartbeat {}ms)", nodeId, lockKey, heartbeatMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+
+        running = false;
+        coordinator.interrupt();
+
+        try {
+            coordinator.join(heartbeatMs);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /**
+     * True while the coordination connection is alive. Always true when election is disabled.
+     */
+    public boolean isHealthy() {
+        return !enabled || System.currentTimeMillis() - lastHeartbeat < heartbeatMs * 3;
+    }
+
+    public String getRole() {
+        if (!enabled) {
+            return "STANDALONE";
+        }
+
+        return leader ? "LEADER" : "FOLLOWER";
+    }
+
+    /**
+     * Queues the given matches for followers. Only the latest snapshot is kept; one that has not been sent yet
+     * is simply replaced.
+     */
+    public void publishSnapshot(final Collection<MatchSegment> matches) {
+        if (enabled && leader) {
+            final List<MatchSegment> copy = List.copyOf(matches);
+            latestSnapshot = copy;
+            pendingSnapshot.set(copy);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (!coordinate()) {
+                try {
+                    Thread.sleep(heartbeatMs);
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+
+        dropConnection();
+    }
+
+    /**
+     * One pass of the coordinator loop: connect if needed, heartbeat when due, then send and receive snapshots.
+     * Returns false if the connection failed and was dropped, which also gives up leadership. Coordinator
+     * thread only.
+     */
+    boolean coordinate() {
+        try {
+            if (connection == null) {
+                connect();
+            }
+
+            final long now = System.currentTimeMillis();
+
+            if (now >= nextHeartbeat) {
+                heartbeat();
+                nextHeartbeat = now + heartbeatMs;
+            }
+
+            sendPendingSnapshot();
+            receiveNotifications();
+            return true;
+        } catch (final SQLException e) {
+            log.warn("Cluster coordination connection failed: {}", e.getMessage());
+            meterRegistry.counter("cluster.coordination.errors").increment();
+            dropConnection();
+            nextHeartbeat = 0;
+            return false;
+        }
+    }
+
+    Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+    }
+
+    private void connect() throws SQLException {
+        connection = openConnection();
+        connection.setAutoCommit(true);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+
+        log.info("Cluster coordination connection established");
+    }
+
+    private void heartbeat() throws SQLException {
+        if (leader) {
+            // Holding the lock only means something while our session is alive; prove it is.
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+            }
+
+            // Unless a newer one is already queued, repeat the last snapshot for followers that joined since.
+            final List<MatchSegment> latest = latestSnapshot;
+
+            if (latest != null) {
+                pendingSnapshot.compareAndSet(null, latest);
+            }
+        } else {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, lockKey);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next() && resultSet.getBoolean(1)) {
+                        setLeader(true);
+                    }
+                }
+            }
+        }
+
+        lastHeartbeat = System.currentTimeMillis();
+    }
+
+    private void sendPendingSnapshot() throws SQLException {
+        final List<MatchSegment> matches = pendingSnapshot.getAndSet(null);
+
+        if (matches == null || !leader) {
+            return;
+        }
+
+        final String encoded;
+
+        try {
+            encoded = Base64.getEncoder().encodeToString(gzip(objectMapper.writeValueAsBytes(matches)));
+        } catch (final IOException e) {
+            log.warn("Failed to encode cluster snapshot: {}", e.getMessage());
+            return;
+        }
+
+        final String snapshotId = nodeId + "-" + snapshotSequence.incrementAndGet();
+        final int chunks = Math.max(1, (encoded.length() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (int i = 0; i < chunks; i++) {
+                final String chunk = encoded.substring(i * CHUNK_SIZE, Math.min(encoded.length(), (i + 1) * CHUNK_SIZE));
+
+                statement.setString(1, channel);
+                statement.setString(2, snapshotId + ":" + i + ":" + chunks + ":" + chunk);
+                statement.execute();
+            }
+        }
+
+        meterRegistry.counter("cluster.snapshots", "direction", "sent").increment();
+        log.debug("Published cluster snapshot {} ({} matches, {} chunks)", snapshotId, matches.size(), chunks);
+    }
+
+    private void receiveNotifications() throws SQLException {
+        final PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(NOTIFICATION_WAIT_MS);
+
+        if (notifications == null) {
+            return;
+        }
+
+        for (final PGNotification notification : notifications) {
+            if (!leader) {
+                onChunk(notification.getParameter());
+            }
+        }
+    }
+
+    /**
+     * Adds one {@code id:index:count:chunk} notification to the snapshot being assembled and publishes the
+     * snapshot once every chunk is in. Coordinator thread only.
+     */
+    void onChunk(final String payload) {
+        final String[] parts = payload.split(":", 4);
+
+        if (parts.length != 4 || parts[0].startsWith(nodeId + "-")) {
+            return;
+        }
+
+        final int index;
+        final int count;
+
+        try {
+            index = Integer.parseInt(parts[1]);
+            count = Integer.parseInt(parts[2]);
+        } catch (final NumberFormatException e) {
+            log.debug("Ignoring malformed cluster snapshot chunk");
+            return;
+        }
+
+        if (count < 1 || index < 0 || index >= count) {
+            return;
+        }
+
+        // A chunk of a newer snapshot abandons whatever was being assembled; only the latest state matters.
+        if (!parts[0].equals(assemblingId) || assemblingChunks.length != count) {
+            assemblingId = parts[0];
+            assemblingChunks = new String[count];
+        }
+
+        assemblingChunks[index] = parts[3];
+
+        for (final String chunk : assemblingChunks) {
+            if (chunk == null) {
+                return;
+            }
+        }
+
+        final String encoded = String.join("", assemblingChunks);
+        assemblingId = null;
+        assemblingChunks = null;
+
+        try {
+            final List<MatchSegment> matches = objectMapper.readValue(
+                    gunzip(Base64.getDecoder().decode(encoded)), new TypeReference<>() {});
+
+            meterRegistry.counter("cluster.snapshots", "direction", "received").increment();
+            eventPublisher.publishEvent(new ClusterSnapshotEvent(matches));
+        } catch (final IOException | IllegalArgumentException e) {
+            log.warn("Failed to decode cluster snapshot: {}", e.getMessage());
+            meterRegistry.counter("cluster.coordination.errors").increment();
+        }
+    }
+
+    private void setLeader(final boolean value) {
+        if (leader == value) {
+            return;
+        }
+
+        leader = value;
+
+        if (!value) {
+            // Whatever we last published is the old leader's view; never repeat it after taking over again.
+            latestSnapshot = null;
+            pendingSnapshot.set(null);
+        }
+
+        log.info("Node {} is now {}", nodeId, value ? "the leader" : "a follower");
+        meterRegistry.counter("cluster.leadership.changes", "role", value ? "leader" : "follower").increment();
+        eventPublisher.publishEvent(new LeadershipChangedEvent(value));
+    }
+
+    private void dropConnection() {
+        if (connection != null) {
+            try {
+                // Closing the session releases the advisory lock.
+                connection.close();
+            } catch (final SQLException e) {
+                log.debug("Error closing coordination connection: {}", e.getMessage());
+            }
+
+            connection = null;
+        }
+
+        assemblingId = null;
+        assemblingChunks = null;
+        setLeader(false);
+    }
+
+    private static byte[] gzip(final byte[] data) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(final byte[] data) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        }
+    }
+
+    public record LeadershipChangedEvent(boolean leader) {}
+
+    public record ClusterSnapshotEvent(List<MatchSegment> matches) {}
+}
@@ -0,0 +1,106 @@
+package quest.gekko.spiketracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import quest.gekko.spiketracker.model.match.LiveMatchSnapshot;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Serializes live match messages once and hands the same bytes to STOMP, REST and SSE. Whole-snapshot bodies are
+ * cached per kind for the current snapshot version, and per-match and per-event bodies per key, so serialization
+ * cost follows the number of updates instead of the number of requests and subscribers.
+ */
+@Component
+public class LiveMatchPayloads {
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // Kind -> body for the latest snapshot version asked for; older versions are simply replaced.
+    private final Map<String, EncodedPayload> latest = new ConcurrentHashMap<>();
+
+    // "kind:key" -> body for scopedVersion. Emptied whenever a newer version is asked for, so it only holds the
+    // keys asked for since the last change; callers keep keys to live matches and events.
+    private final Map<String, EncodedPayload> scoped = new ConcurrentHashMap<>();
+    private long scopedVersion = -1;
+
+    public LiveMatchPayloads(final ObjectMapper objectMapper, final MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The body {@code render} builds for {@code snapshot}, encoded at most once per version and stale flag. Only
+     * ever moves forward: a caller holding an older snapshot gets it encoded but does not evict the newer one.
+     */
+    public EncodedPayload forSnapshot(final String kind, final LiveMatchSnapshot snapshot,
+                                      final Function<LiveMatchSnapshot, ?> render) {
+        final EncodedPayload cached = latest.get(kind);
+
+        if (cached != null && cached.version() == snapshot.version() && cached.stale() == snapshot.stale()) {
+            meterRegistry.counter("payload.cache", "kind", kind, "result", "hit").increment();
+            return cached;
+        }
+
+        final EncodedPayload encoded = encode(kind, snapshot.version(), snapshot.stale(), render.apply(snapshot));
+
+        latest.compute(kind, (key, current) ->
+                current == null || current.version() <= snapshot.version() ? encoded : current);
+        meterRegistry.counter("payload.cache", "kind", kind, "result", "miss").increment();
+
+        return encoded;
+    }
+
+    /**
+     * Like {@link #forSnapshot}, for a body that depends on {@code key} as well, such as one match or one event.
+     * Callers must map keys that match nothing onto one shared key, or every unknown id asked for would be kept.
+     */
+    public EncodedPayload forScope(final String kind, final String key, final LiveMatchSnapshot snapshot,
+                                   final Function<LiveMatchSnapshot, ?> render) {
+        final String cacheKey = kind + ":" + key;
+        final EncodedPayload cached = scoped.get(cacheKey);
+
+        if (cached != null && cached.version() == snapshot.version() && cached.stale() == snapshot.stale()) {
+            meterRegistry.counter("payload.cache", "kind", kind, "result", "hit").increment();
+            return cached;
+        }
+
+        final EncodedPayload encoded = encode(kind, snapshot.version(), snapshot.stale(), render.apply(snapshot));
+
+        synchronized (scoped) {
+            if (snapshot.version() > scopedVersion) {
+                scoped.clear();
+                scopedVersion = snapshot.version();
+            }
+
+            if (snapshot.version() == scopedVersion) {
+                scoped.put(cacheKey, encoded);
+            }
+        }
+
+        meterRegistry.counter("payload.cache", "kind", kind, "result", "miss").increment();
+        return encoded;
+    }
+
+    /**
+     * Encodes a one-off message such as a patch, which is sent once to every channel and never asked for again.
+     */
+    public EncodedPayload encode(final String kind, final long version, final Object message) {
+        return encode(kind, version, false, message);
+    }
+
+    private EncodedPayload encode(final String kind, final long version, final boolean stale, final Object message) {
+        try {
+            final byte[] json = objectMapper.writeValueAsBytes(message);
+            meterRegistry.counter("payload.encodings", "kind", kind).increment();
+            return new EncodedPayload(version, stale, json);
+        } catch (final JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
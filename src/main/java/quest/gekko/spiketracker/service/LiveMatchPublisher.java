@@ -0,0 +1,327 @@
+package quest.gekko.spiketracker.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import quest.gekko.spiketracker.model.match.LiveMatchSnapshot;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+import quest.gekko.spiketracker.model.match.MatchStreamMessage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Sends live match changes to WebSocket subscribers:
+ * <ul>
+ *     <li>{@code /topic/matches} gets a {@link MatchStreamMessage} patch covering every match.</li>
+ *     <li>{@code /topic/matches/{id}}, keyed by the numeric vlr.gg id, gets that one match whenever it changes,
+ *     and an empty list once it is gone.</li>
+ *     <li>{@code /topic/events/{slug}}, keyed by {@link #eventSlug(String)} of the event name, gets every live match
+ *     of that event whenever one of them changes.</li>
+ * </ul>
+ * Scoped topics carry small self-contained snapshots, so embedded widgets need no patch or resync handling. A
+ * topic with no subscribers in {@link TopicSubscriptionRegistry} is skipped before its message is even built.
+ * <p>
+ * Server-sent event clients of {@code /api/matches/stream} get the same snapshot and patch messages as STOMP
+ * clients. Every message is serialized once by {@link LiveMatchPayloads} and those bytes are what both channels
+ * send. SSE writes happen on their own thread so a slow client never holds up the update thread.
+ */
+@Slf4j
+@Service
+public class LiveMatchPublisher {
+    public static final String MATCHES_TOPIC = "/topic/matches";
+    public static final String MATCH_TOPIC_PREFIX = "/topic/matches/";
+    public static final String EVENT_TOPIC_PREFIX = "/topic/events/";
+
+    private static final Pattern NON_SLUG = Pattern.compile("[^a-z0-9]+");
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TopicSubscriptionRegistry subscriptions;
+    private final LiveMatchPayloads payloads;
+    private final MeterRegistry meterRegistry;
+
+    private final long sseTimeoutMs;
+    private final int sseMaxClients;
+
+    private final List<SseEmitter> sseClients = new CopyOnWriteArrayList<>();
+    private final ExecutorService sseExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "sse-fanout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LiveMatchPublisher(final SimpMessagingTemplate messagingTemplate,
+                              final TopicSubscriptionRegistry subscriptions,
+                              final LiveMatchPayloads payloads,
+                              final MeterRegistry meterRegistry,
+                              @Value("${app.sse.timeout-ms:1800000}") final long sseTimeoutMs,
+                              @Value("${app.sse.max-clients:1000}") final int sseMaxClients) {
+        this.messagingTemplate = messagingTemplate;
+        this.subscriptions = subscriptions;
+        this.payloads = payloads;
+        this.meterRegistry = meterRegistry;
+        this.sseTimeoutMs = sseTimeoutMs;
+        this.sseMaxClients = sseMaxClients;
+
+        meterRegistry.gauge("sse.clients", sseClients, List::size);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sseExecutor.shutdownNow();
+        sseClients.forEach(SseEmitter::complete);
+        sseClients.clear();
+    }
+
+    /**
+     * The full snapshot message for {@code snapshot}, encoded once per version and shared by every STOMP
+     * subscribe reply and SSE client that asks for it.
+     */
+    public byte[] snapshotPayload(final LiveMatchSnapshot snapshot) {
+        return payloads.forSnapshot("stream-snapshot", snapshot, MatchStreamMessage::snapshot).json();
+    }
+
+    /**
+     * {@link #matchSnapshot} for {@code vlrId}, encoded once per version and shared with the topic broadcast.
+     */
+    public byte[] matchPayload(final LiveMatchSnapshot snapshot, final String vlrId) {
+        final MatchStreamMessage message = matchSnapshot(snapshot, vlrId);
+        return payloads.forScope("match", scopeKey(message, vlrId), snapshot, ignored -> message).json();
+    }
+
+    /**
+     * {@link #eventSnapshot} for {@code slug}, encoded once per version and shared with the topic broadcast.
+     */
+    public byte[] eventPayload(final LiveMatchSnapshot snapshot, final String slug) {
+        final MatchStreamMessage message = eventSnapshot(snapshot, slug);
+        return payloads.forScope("event", scopeKey(message, slug), snapshot, ignored -> message).json();
+    }
+
+    /**
+     * Opens a server-sent event stream: a {@code snapshot} event with the current state, then a {@code patch}
+     * event per published version. Returns empty when the client limit is reached.
+     */
+    public Optional<SseEmitter> openStream(final Supplier<LiveMatchSnapshot> currentSnapshot) {
+        if (sseClients.size() >= sseMaxClients) {
+            meterRegistry.counter("sse.connections", "result", "rejected").increment();
+            return Optional.empty();
+        }
+
+        final SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        emitter.onCompletion(() -> sseClients.remove(emitter));
+        emitter.onTimeout(() -> sseClients.remove(emitter));
+        emitter.onError(ignored -> sseClients.remove(emitter));
+
+        // Queued behind any patch already being fanned out. The snapshot is read when this runs, so a patch that
+        // follows it is either newer or one the client skips as already applied.
+        sseExecutor.execute(() -> {
+            final LiveMatchSnapshot snapshot = currentSnapshot.get();
+
+            if (sendSse(emitter, MatchStreamMessage.SNAPSHOT, snapshot.version(), snapshotPayload(snapshot))) {
+                sseClients.add(emitter);
+            }
+        });
+
+        meterRegistry.counter("sse.connections", "result", "accepted").increment();
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Comment line to every SSE client so idle proxies keep the connection open; also how dead clients are found.
+     */
+    @Scheduled(fixedRateString = "${app.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (sseClients.isEmpty()) {
+            return;
+        }
+
+        sseExecutor.execute(() -> {
+            for (final SseEmitter emitter : sseClients) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (final IOException | IllegalStateException e) {
+                    sseClients.remove(emitter);
+                }
+            }
+        });
+    }
+
+    /**
+     * Publishes what changed between two snapshot versions, given {@code patch} from
+     * {@link MatchStreamMessage#patch(LiveMatchSnapshot, LiveMatchSnapshot)} of the two. Called from the
+     * match-update thread only.
+     */
+    public void publish(final LiveMatchSnapshot previous, final LiveMatchSnapshot current,
+                        final MatchStreamMessage patch) {
+        final boolean stompListening = subscriptions.hasSubscribers(MATCHES_TOPIC);
+
+        if (stompListening || !sseClients.isEmpty()) {
+            final EncodedPayload payload = payloads.encode("stream-patch", current.version(), patch);
+
+            if (stompListening) {
+                sendStomp(payload);
+            }
+
+            broadcastSse(payload);
+        } else {
+            meterRegistry.counter("websocket.broadcast", "status", "skipped").increment();
+        }
+
+        final Set<String> changedMatches = new LinkedHashSet<>();
+        final Set<String> changedEvents = new LinkedHashSet<>();
+
+        for (final MatchSegment segment : current.values()) {
+            final MatchSegment before = previous.matches().get(segment.match_page());
+
+            if (!segment.equals(before)) {
+                changedMatches.add(segment.match_page());
+                addEvent(changedEvents, segment);
+                addEvent(changedEvents, before);
+            }
+        }
+
+        for (final MatchSegment before : previous.values()) {
+            if (!current.matches().containsKey(before.match_page())) {
+                changedMatches.add(before.match_page());
+                addEvent(changedEvents, before);
+            }
+        }
+
+        for (final String matchPage : changedMatches) {
+            final String vlrId = MatchTrackingService.eventKey(matchPage);
+
+            if (vlrId != null) {
+                sendScoped(MATCH_TOPIC_PREFIX + vlrId, "match", () -> matchPayload(current, vlrId));
+            }
+        }
+
+        for (final String slug : changedEvents) {
+            sendScoped(EVENT_TOPIC_PREFIX + slug, "event", () -> eventPayload(current, slug));
+        }
+    }
+
+    /**
+     * The one live match with this vlr.gg id, or an empty snapshot if it is not live.
+     */
+    public static MatchStreamMessage matchSnapshot(final LiveMatchSnapshot snapshot, final String vlrId) {
+        final List<MatchSegment> matches = new ArrayList<>(1);
+
+        for (final MatchSegment segment : snapshot.values()) {
+            if (vlrId.equals(MatchTrackingService.eventKey(segment.match_page()))) {
+                matches.add(segment);
+                break;
+            }
+        }
+
+        return MatchStreamMessage.snapshot(snapshot, matches);
+    }
+
+    public static MatchStreamMessage eventSnapshot(final LiveMatchSnapshot snapshot, final String slug) {
+        final List<MatchSegment> matches = new ArrayList<>();
+
+        for (final MatchSegment segment : snapshot.values()) {
+            if (slug.equals(eventSlug(segment.match_event()))) {
+                matches.add(segment);
+            }
+        }
+
+        return MatchStreamMessage.snapshot(snapshot, matches);
+    }
+
+    /**
+     * Topic-safe form of an event name, e.g. {@code champions-tour-2025-masters-toronto} for
+     * {@code "Champions Tour 2025: Masters Toronto"}. Null for a blank name.
+     */
+    public static String eventSlug(final String eventName) {
+        if (eventName == null) {
+            return null;
+        }
+
+        final String slug = NON_SLUG.matcher(eventName.toLowerCase(Locale.ROOT)).replaceAll("-");
+        final int start = slug.startsWith("-") ? 1 : 0;
+        final int end = slug.endsWith("-") ? slug.length() - 1 : slug.length();
+
+        return start < end ? slug.substring(start, end) : null;
+    }
+
+    private void sendStomp(final EncodedPayload payload) {
+        try {
+            messagingTemplate.convertAndSend(MATCHES_TOPIC, payload.json());
+            meterRegistry.counter("websocket.broadcast", "status", "success").increment();
+        } catch (final Exception e) {
+            log.error("Failed to broadcast match updates: {}", e.getMessage(), e);
+            meterRegistry.counter("websocket.broadcast", "status", "failed").increment();
+        }
+    }
+
+    private void broadcastSse(final EncodedPayload payload) {
+        if (sseClients.isEmpty()) {
+            return;
+        }
+
+        sseExecutor.execute(() -> {
+            for (final SseEmitter emitter : sseClients) {
+                sendSse(emitter, MatchStreamMessage.PATCH, payload.version(), payload.json());
+            }
+        });
+    }
+
+    private boolean sendSse(final SseEmitter emitter, final String name, final long version, final byte[] json) {
+        try {
+            emitter.send(SseEmitter.event().name(name).id(String.valueOf(version)).data(json, MediaType.APPLICATION_JSON));
+            meterRegistry.counter("sse.messages", "type", name, "result", "sent").increment();
+            return true;
+        } catch (final IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter, which is all the cleanup needed.
+            sseClients.remove(emitter);
+            meterRegistry.counter("sse.messages", "type", name, "result", "failed").increment();
+            return false;
+        }
+    }
+
+    private void sendScoped(final String topic, final String scope, final Supplier<byte[]> payload) {
+        if (!subscriptions.hasSubscribers(topic)) {
+            meterRegistry.counter("websocket.topic.messages", "scope", scope, "result", "skipped").increment();
+            return;
+        }
+
+        try {
+            messagingTemplate.convertAndSend(topic, payload.get());
+            meterRegistry.counter("websocket.topic.messages", "scope", scope, "result", "sent").increment();
+        } catch (final Exception e) {
+            log.warn("Failed to publish to {}: {}", topic, e.getMessage());
+            meterRegistry.counter("websocket.topic.messages", "scope", scope, "result", "failed").increment();
+        }
+    }
+
+    // Every id or slug with nothing live gets the same empty body, so only live keys take up cache entries.
+    private static String scopeKey(final MatchStreamMessage message, final String key) {
+        return message.matches().isEmpty() ? "" : key;
+    }
+
+    private static void addEvent(final Set<String> events, final MatchSegment segment) {
+        if (segment != null) {
+            final String slug = eventSlug(segment.match_event());
+
+            if (slug != null) {
+                events.add(slug);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package quest.gekko.spiketracker.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import quest.gekko.spiketracker.model.match.LiveMatchData;
+import quest.gekko.spiketracker.service.api.LiveScoreParser;
+import quest.gekko.spiketracker.service.api.LiveScoreRecorder;
+import quest.gekko.spiketracker.util.TimeSource;
+import quest.gekko.spiketracker.util.VirtualTimeSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds a file written by {@link LiveScoreRecorder} back through {@link MatchTrackingService#updateMatches(LiveMatchData)}
+ * instead of polling upstream. {@code app.replay.speed} scales the recorded gaps between responses: 1 replays in
+ * real time, 10 ten times faster, and 0 (or less) applies every payload back to back.
+ * <p>
+ * Consecutive identical bodies are skipped, mirroring the change detection the live client applies.
+ * <p>
+ * With a {@link VirtualTimeSource} ({@code app.clock.virtual=true}) the clock is advanced by the recorded gap
+ * before each payload, so staleness and completion timing behave as they did live even at maximum speed.
+ */
+@Slf4j
+@Service
+public class LiveScoreReplayService {
+    private final MatchTrackingService matchTrackingService;
+    private final LiveScoreParser liveScoreParser;
+    private final TimeSource timeSource;
+    private final Timer applyTimer;
+
+    private final boolean enabled;
+    private final Path path;
+    private final double speed;
+
+    private volatile Thread replayThread;
+
+    public LiveScoreReplayService(
+            final MatchTrackingService matchTrackingService,
+            final LiveScoreParser liveScoreParser,
+            final MeterRegistry meterRegistry,
+            final TimeSource timeSource,
+            @Value("${app.replay.enabled:false}") final boolean enabled,
+            @Value("${app.replay.path:recordings/live_score.rec}") final String path,
+            @Value("${app.replay.speed:1}") final double speed) {
+        this.matchTrackingService = matchTrackingService;
+        this.liveScoreParser = liveScoreParser;
+        this.timeSource = timeSource;
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.speed = speed;
+
+        this.applyTimer = Timer.builder("replay.apply")
+                .description("Time taken to apply one replayed live_score payload")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startReplay() {
+        if (!enabled) {
+            return;
+        }
+
+        replayThread = new Thread(this::replay, "live-score-replay");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        final Thread thread = replayThread;
+
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void replay() {
+        log.info("Replaying {} at {}", path.toAbsolutePath(), speed > 0 ? speed + "x" : "maximum speed");
+
+        int applied = 0;
+        int skipped = 0;
+        final long startNanos = System.nanoTime();
+
+        try (LiveScoreRecorder.Reader reader = new LiveScoreRecorder.Reader(path)) {
+            long firstReceivedAt = -1;
+            long previousReceivedAt = -1;
+            byte[] previousBody = null;
+            LiveScoreRecorder.Entry entry;
+
+            while ((entry = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                if (firstReceivedAt < 0) {
+                    firstReceivedAt = entry.receivedAt();
+                }
+
+                if (speed > 0) {
+                    final long dueNanos = startNanos + (long) ((entry.receivedAt() - firstReceivedAt) / speed * 1_000_000);
+                    final long waitNanos = dueNanos - System.nanoTime();
+
+                    if (waitNanos > 0) {
+                        TimeUnit.NANOSECONDS.sleep(waitNanos);
+                    }
+                }
+
+                if (timeSource instanceof VirtualTimeSource virtualTime && previousReceivedAt >= 0) {
+                    virtualTime.advance(Duration.ofMillis(Math.max(0, entry.receivedAt() - previousReceivedAt)));
+                }
+
+                previousReceivedAt = entry.receivedAt();
+
+                if (Arrays.equals(entry.body(), previousBody)) {
+                    skipped++;
+                    continue;
+                }
+
+                previousBody = entry.body();
+
+                final LiveMatchData data = liveScoreParser.parse(entry.body());
+                applyTimer.record(() -> matchTrackingService.updateMatches(data));
+                applied++;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Replay interrupted");
+        } catch (final IOException e) {
+            log.error("Replay of {} failed: {}", path, e.getMessage(), e);
+        }
+
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.info("Replay finished: {} payloads applied, {} unchanged skipped in {} ms", applied, skipped, elapsedMs);
+    }
+}
@@ -0,0 +1,70 @@
+package quest.gekko.spiketracker.service;
+
+import org.springframework.stereotype.Component;
+import quest.gekko.spiketracker.model.match.MatchDelta;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+
+import java.util.EnumSet;
+import java.util.Objects;
+
+/**
+ * Compares two states of the same match and reports which groups of fields changed, so persistence, broadcast
+ * and metrics can all work from one precomputed change set instead of re-comparing full segments.
+ */
+@Component
+public class MatchDeltaEngine {
+    /**
+     * Like {@link #changedFields} but against a segment restored from {@code match_tracking}, which only persists
+     * the series score, current map and stream link. Everything else is missing there rather than changed.
+     */
+    public EnumSet<MatchDelta.Field> reconciledFields(final MatchSegment restored, final MatchSegment current) {
+        final EnumSet<MatchDelta.Field> changes = EnumSet.noneOf(MatchDelta.Field.class);
+
+        if (!Objects.equals(restored.score1(), current.score1()) ||
+                !Objects.equals(restored.score2(), current.score2())) {
+            changes.add(MatchDelta.Field.SCORE);
+        }
+
+        if (!Objects.equals(restored.current_map(), current.current_map())) {
+            changes.add(MatchDelta.Field.MAP);
+        }
+
+        return changes;
+    }
+
+    public EnumSet<MatchDelta.Field> changedFields(final MatchSegment previous, final MatchSegment current) {
+        final EnumSet<MatchDelta.Field> changes = EnumSet.noneOf(MatchDelta.Field.class);
+
+        if (previous == current) {
+            return changes;
+        }
+
+        if (!Objects.equals(previous.score1(), current.score1()) ||
+                !Objects.equals(previous.score2(), current.score2())) {
+            changes.add(MatchDelta.Field.SCORE);
+        }
+
+        if (!Objects.equals(previous.team1_round_ct(), current.team1_round_ct()) ||
+                !Objects.equals(previous.team1_round_t(), current.team1_round_t()) ||
+                !Objects.equals(previous.team2_round_ct(), current.team2_round_ct()) ||
+                !Objects.equals(previous.team2_round_t(), current.team2_round_t())) {
+            changes.add(MatchDelta.Field.ROUND_SPLIT);
+        }
+
+        if (!Objects.equals(previous.current_map(), current.current_map()) ||
+                !Objects.equals(previous.map_number(), current.map_number())) {
+            changes.add(MatchDelta.Field.MAP);
+        }
+
+        if (!Objects.equals(previous.streamLink(), current.streamLink())) {
+            changes.add(MatchDelta.Field.STREAM_LINK);
+        }
+
+        if (!Objects.equals(previous.time_until_match(), current.time_until_match()) ||
+                !Objects.equals(previous.unix_timestamp(), current.unix_timestamp())) {
+            changes.add(MatchDelta.Field.TIMING);
+        }
+
+        return changes;
+    }
+}
@@ -0,0 +1,87 @@
+package quest.gekko.spiketracker.service;
+
+import quest.gekko.spiketracker.model.match.MatchDelta;
+import quest.gekko.spiketracker.model.match.MatchEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fixed-capacity timeline of one live match's changes. The slot array is allocated up front and reused; once
+ * full, each append overwrites the oldest event.
+ * <p>
+ * Written only from the match-update thread and read from request threads without locking. An event is stored
+ * before the volatile sequence counter that publishes it is advanced, and readers check each slot's own
+ * sequence, so a slot overwritten mid-read is skipped rather than returned out of order.
+ * <p>
+ * Sequence numbers start again at 1 whenever a log is created, e.g. after a restart or when a match drops out and
+ * comes back. Each log therefore has a random {@code epoch}, returned with every slice, and a client that sends
+ * back an epoch from another log is told to resync.
+ */
+public final class MatchEventLog {
+    private final MatchEvent[] slots;
+
+    // Below 2^53 so it survives a round trip through a JavaScript number.
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, 1L << 53);
+
+    // Sequence number the next event will get; events 1..nextSeq-1 have been written.
+    private volatile long nextSeq = 1;
+
+    public MatchEventLog(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Event log capacity must be positive: " + capacity);
+        }
+
+        this.slots = new MatchEvent[capacity];
+    }
+
+    void append(final MatchDelta delta) {
+        final long seq = nextSeq;
+        slots[slotOf(seq)] = MatchEvent.of(seq, delta);
+        nextSeq = seq + 1;
+    }
+
+    public long latestSeq() {
+        return nextSeq - 1;
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Events with a sequence number greater than {@code since}, oldest first. {@code truncated} is set when some
+     * of them have already been overwritten, in which case the caller should fall back to the full match state.
+     * <p>
+     * {@code epoch} is the one the client got with its last slice, or 0 if it has none. If it belongs to another
+     * log, or {@code since} is past anything this log has issued, {@code since} refers to a different numbering:
+     * every retained event is returned and the slice is marked truncated.
+     */
+    public Slice since(final long since, final long epoch) {
+        final long latest = nextSeq - 1;
+        final boolean resync = (epoch != 0 && epoch != this.epoch) || since > latest;
+        final long after = resync ? 0 : since;
+        final long oldestRetained = Math.max(1, latest - slots.length + 1);
+        final long from = Math.max(after + 1, oldestRetained);
+
+        final List<MatchEvent> events = new ArrayList<>((int) Math.max(0, latest - from + 1));
+
+        for (long seq = from; seq <= latest; seq++) {
+            final MatchEvent event = slots[slotOf(seq)];
+
+            if (event != null && event.seq() == seq) {
+                events.add(event);
+            }
+        }
+
+        final boolean truncated = resync || after + 1 < from || events.size() < latest - from + 1;
+        return new Slice(this.epoch, latest, truncated, events);
+    }
+
+    private int slotOf(final long seq) {
+        return (int) (seq % slots.length);
+    }
+
+    public record Slice(long epoch, long latestSeq, boolean truncated, List<MatchEvent> events) {}
+}
@@ -13,9 +13,11 @@ import org.springframework.transaction.annotation.Transactional;
 import quest.gekko.spiketracker.entity.MatchHistoryEntity;
 import quest.gekko.spiketracker.entity.MatchTrackingEntity;
 import quest.gekko.spiketracker.model.match.MatchHistory;
+import quest.gekko.spiketracker.model.match.MatchScore;
 import quest.gekko.spiketracker.model.match.MatchSegment;
 import quest.gekko.spiketracker.repository.MatchHistoryRepository;
 import quest.gekko.spiketracker.repository.MatchTrackingRepository;
+import quest.gekko.spiketracker.util.TimeSource;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -31,6 +33,8 @@ import java.util.stream.Stream;
 public class MatchHistoryService {
     private final MatchHistoryRepository matchHistoryRepository;
     private final MatchTrackingRepository matchTrackingRepository;
+    private final LeaderElectionService leaderElection;
+    private final TimeSource timeSource;
 
     @Transactional
     public void recordMatchStart(final String matchId, final MatchSegment segment) {
@@ -44,7 +48,7 @@ public class MatchHistoryService {
                     .matchId(matchId)
                     .team1(segment.team1())
                     .team2(segment.team2())
-                    .startTime(LocalDateTime.now())
+                    .startTime(timeSource.localDateTime())
                     .status(MatchTrackingEntity.MatchStatus.LIVE)
                     .lastScore1(segment.score1())
                     .lastScore2(segment.score2())
@@ -62,7 +66,7 @@ public class MatchHistoryService {
 
     @Transactional
     @CacheEvict(value = "matchHistory", allEntries = true)
-    public void recordMatchCompletion(final MatchSegment segment) {
+    public void recordMatchCompletion(final MatchSegment segment, final MatchScore score, final LocalDateTime completedAt) {
         try {
             final String matchId = segment.match_page();
 
@@ -76,7 +80,7 @@ public class MatchHistoryService {
 
             if (tracking.isPresent()) {
                 LocalDateTime startTime = tracking.get().getStartTime();
-                durationMinutes = Duration.between(startTime, LocalDateTime.now()).toMinutes();
+                durationMinutes = Math.max(0, Duration.between(startTime, completedAt).toMinutes());
                 matchTrackingRepository.updateMatchStatus(matchId, MatchTrackingEntity.MatchStatus.COMPLETED);
             }
 
@@ -89,13 +93,16 @@ public class MatchHistoryService {
                     .team2Logo(segment.team2_logo())
                     .finalScore1(segment.score1())
                     .finalScore2(segment.score2())
+                    .score1(toColumn(score.score1()))
+                    .score2(toColumn(score.score2()))
+                    .mapNumber(toColumn(score.mapNumber()))
                     .matchEvent(segment.match_event())
                     .matchSeries(segment.match_series())
                     .currentMap(segment.current_map())
                     .matchPage(matchId)
                     .streamLink(segment.streamLink())
                     .durationMinutes(durationMinutes)
-                    .completedAt(LocalDateTime.now())
+                    .completedAt(completedAt)
                     .build();
 
             matchHistoryRepository.save(historyEntity);
@@ -172,6 +179,16 @@ public class MatchHistoryService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public Double getAverageScoreMargin() {
+        try {
+            return matchHistoryRepository.getAverageScoreMargin();
+        } catch (final Exception e) {
+            log.error("Failed to calculate average score margin: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
     @Transactional(readOnly = true)
     public List<Object[]> getEventStatistics() {
         try {
@@ -182,6 +199,20 @@ public class MatchHistoryService {
         }
     }
 
+    /**
+     * Matches still marked LIVE that started after the given time, i.e. the ones this service was tracking when
+     * it last stopped.
+     */
+    @Transactional(readOnly = true)
+    public List<MatchTrackingEntity> getLiveTrackedMatches(final LocalDateTime startedAfter) {
+        try {
+            return matchTrackingRepository.findByStatusAndStartTimeAfter(MatchTrackingEntity.MatchStatus.LIVE, startedAfter);
+        } catch (final Exception e) {
+            log.error("Failed to load live tracked matches: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
     @Async
     @Transactional
     public void updateMatchScore(final String matchId, final String score1, final String score2, final String currentMap, final String streamLink) {
@@ -196,12 +227,17 @@ public class MatchHistoryService {
     @Transactional
     @CacheEvict(value = {"matchHistory", "teamStats"}, allEntries = true)
     public void cleanupOldRecords() {
+        if (!leaderElection.isLeader()) {
+            return;
+        }
+
         try {
-            final LocalDateTime cutoffDate = LocalDateTime.now().minusDays(7);
+            final LocalDateTime now = timeSource.localDateTime();
+            final LocalDateTime cutoffDate = now.minusDays(7);
 
             matchTrackingRepository.deleteByStatusAndStartTimeBefore(MatchTrackingEntity.MatchStatus.COMPLETED, cutoffDate);
 
-            LocalDateTime historyCutoff = LocalDateTime.now().minusYears(1);
+            LocalDateTime historyCutoff = now.minusYears(1);
             matchHistoryRepository.deleteByCompletedAtBefore(historyCutoff);
 
             log.info("Cleaned up old tracking and history records");
@@ -227,7 +263,20 @@ public class MatchHistoryService {
                 entity.getMatchPage(),
                 entity.getStreamLink(),
                 entity.getDurationMinutes() != null ? entity.getDurationMinutes() : 0,
-                entity.getWinner()
+                entity.getWinner(),
+                fromColumn(entity.getScore1()),
+                fromColumn(entity.getScore2()),
+                fromColumn(entity.getMapNumber()),
+                entity.getMargin()
         );
     }
+
+    // MatchScore never parses more than four digits, so every known value fits the SMALLINT columns.
+    private static Integer toColumn(final int value) {
+        return value == MatchScore.UNKNOWN ? null : value;
+    }
+
+    private static int fromColumn(final Integer value) {
+        return value != null ? value : MatchScore.UNKNOWN;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package quest.gekko.spiketracker.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import quest.gekko.spiketracker.model.api.ApiFetchResult;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+import quest.gekko.spiketracker.service.api.VlrggMatchApiClient;
+import quest.gekko.spiketracker.util.TimeSource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps an in-memory timeline of when upcoming matches are expected to start, built from the upstream
+ * {@code q=upcoming} feed, so polling can ramp up just before a match goes live instead of waiting out a
+ * deep-idle interval.
+ */
+@Slf4j
+@Service
+public class MatchScheduleService {
+    private static final DateTimeFormatter UPSTREAM_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern RELATIVE_TIME_PART = Pattern.compile("(\\d+)\\s*([wdhm])");
+
+    private final VlrggMatchApiClient apiClient;
+    private final LeaderElectionService leaderElection;
+    private final TimeSource timeSource;
+
+    private final boolean enabled;
+    private final long refreshIntervalMs;
+    private final long rampLeadMs;
+    private final long startGraceMs;
+
+    // Sorted epoch millis of expected starts. Replaced as a whole on refresh so readers never lock.
+    private volatile long[] expectedStarts = new long[0];
+    private volatile long lastRefreshTime = 0;
+
+    public MatchScheduleService(
+            final VlrggMatchApiClient apiClient,
+            final MeterRegistry meterRegistry,
+            final LeaderElectionService leaderElection,
+            final TimeSource timeSource,
+            @Value("${app.match-tracking.schedule.enabled:true}") final boolean enabled,
+            @Value("${app.match-tracking.schedule.refresh-interval-ms:900000}") final long refreshIntervalMs,
+            @Value("${app.match-tracking.schedule.ramp-lead-ms:120000}") final long rampLeadMs,
+            @Value("${app.match-tracking.schedule.start-grace-ms:1800000}") final long startGraceMs) {
+        this.apiClient = apiClient;
+        this.leaderElection = leaderElection;
+        this.timeSource = timeSource;
+        this.enabled = enabled;
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.rampLeadMs = rampLeadMs;
+        this.startGraceMs = startGraceMs;
+
+        meterRegistry.gauge("match.schedule.expected_starts", this, service -> service.expectedStarts.length);
+    }
+
+    @Scheduled(fixedDelayString = "${app.match-tracking.schedule.refresh-interval-ms:900000}", initialDelay = 5000)
+    public void refreshSchedule() {
+        // Only the polling node ramps up, so followers leave the upstream feed alone.
+        if (!enabled || !leaderElection.isLeader()) {
+            return;
+        }
+
+        apiClient.fetchUpcomingMatchesAsync().thenAccept(result -> {
+            if (!result.isUpdated() || result.data() == null || result.data().segments() == null) {
+                log.debug("Upcoming matches unavailable, keeping previous schedule ({} entries)", expectedStarts.length);
+                return;
+            }
+
+            updateTimeline(result);
+        });
+    }
+
+    /**
+     * A node that just took over has no timeline of its own yet, so it fetches one straight away.
+     */
+    @EventListener
+    public void onLeadershipChanged(final LeaderElectionService.LeadershipChangedEvent event) {
+        if (event.leader()) {
+            refreshSchedule();
+        }
+    }
+
+    private void updateTimeline(final ApiFetchResult result) {
+        final long now = timeSource.currentTimeMillis();
+        final List<MatchSegment> upcoming = result.data().segments();
+
+        final long[] starts = upcoming.stream()
+                .mapToLong(segment -> parseExpectedStart(segment, now))
+                .filter(start -> start > 0 && start + startGraceMs > now)
+                .sorted()
+                .toArray();
+
+        expectedStarts = starts;
+        lastRefreshTime = now;
+
+        log.debug("Match schedule refreshed: {} upcoming starts, next at {}", starts.length,
+                starts.length > 0 ? LocalDateTime.ofEpochSecond(starts[0] / 1000, 0, ZoneOffset.UTC) : "none");
+    }
+
+    /**
+     * True when the schedule is recent enough to be trusted for keeping polling in deep idle.
+     */
+    public boolean isScheduleFresh() {
+        return enabled && lastRefreshTime > 0 && timeSource.currentTimeMillis() - lastRefreshTime < refreshIntervalMs * 2;
+    }
+
+    /**
+     * True while some match is expected to be starting: from the ramp lead before its start time until the
+     * grace period afterwards, since matches routinely go live late.
+     */
+    public boolean isWithinStartWindow(final long now) {
+        final long[] starts = expectedStarts;
+        int index = Arrays.binarySearch(starts, now - startGraceMs);
+        index = index >= 0 ? index : -index - 1;
+
+        return index < starts.length && starts[index] - rampLeadMs <= now;
+    }
+
+    /**
+     * Milliseconds until polling should ramp up for the next expected start, or -1 if none is known.
+     */
+    public long millisUntilNextRamp(final long now) {
+        final long[] starts = expectedStarts;
+        int index = Arrays.binarySearch(starts, now + rampLeadMs);
+        index = index >= 0 ? index : -index - 1;
+
+        return index < starts.length ? starts[index] - rampLeadMs - now : -1;
+    }
+
+    public int getExpectedStartCount() {
+        return expectedStarts.length;
+    }
+
+    private long parseExpectedStart(final MatchSegment segment, final long now) {
+        final String timestamp = segment.unix_timestamp();
+
+        if (timestamp != null && !timestamp.isBlank()) {
+            final String trimmed = timestamp.trim();
+
+            try {
+                if (trimmed.chars().allMatch(Character::isDigit)) {
+                    return Long.parseLong(trimmed) * 1000;
+                }
+
+                return LocalDateTime.parse(trimmed, UPSTREAM_TIMESTAMP).toInstant(ZoneOffset.UTC).toEpochMilli();
+            } catch (final NumberFormatException | DateTimeParseException e) {
+                log.debug("Unparseable upcoming match timestamp '{}' for {}", trimmed, segment.match_page());
+            }
+        }
+
+        return parseRelativeStart(segment.time_until_match(), now);
+    }
+
+    // Fallback for entries like "1h 25m from now" when no absolute timestamp is present.
+    private long parseRelativeStart(final String timeUntilMatch, final long now) {
+        if (timeUntilMatch == null || !timeUntilMatch.contains("from now")) {
+            return -1;
+        }
+
+        final Matcher matcher = RELATIVE_TIME_PART.matcher(timeUntilMatch);
+        long offsetMs = 0;
+        boolean matched = false;
+
+        while (matcher.find()) {
+            final long amount = Long.parseLong(matcher.group(1));
+            matched = true;
+
+            offsetMs += switch (matcher.group(2)) {
+                case "w" -> amount * 7 * 24 * 3_600_000L;
+                case "d" -> amount * 24 * 3_600_000L;
+                case "h" -> amount * 3_600_000L;
+                default -> amount * 60_000L;
+            };
+        }
+
+        return matched ? now + offsetMs : -1;
+    }
+}
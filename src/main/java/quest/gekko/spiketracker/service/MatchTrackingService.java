@@ -8,25 +8,39 @@ import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
+import quest.gekko.spiketracker.entity.MatchTrackingEntity;
+import quest.gekko.spiketracker.model.api.ApiFetchResult;
 import quest.gekko.spiketracker.model.match.LiveMatchData;
+import quest.gekko.spiketracker.model.match.LiveMatchSnapshot;
+import quest.gekko.spiketracker.model.match.MatchDelta;
 import quest.gekko.spiketracker.model.match.MatchSegment;
+import quest.gekko.spiketracker.model.match.MatchStreamMessage;
 import quest.gekko.spiketracker.service.api.VlrggMatchApiClient;
 import quest.gekko.spiketracker.util.StreamLinkScraper;
+import quest.gekko.spiketracker.util.TimeSource;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,29 +48,67 @@ import java.util.stream.Collectors;
 public class MatchTrackingService {
     private final VlrggMatchApiClient apiClient;
     private final MatchHistoryService historyService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final LiveMatchPublisher publisher;
     private final StreamLinkScraper streamLinkScraper;
     private final MeterRegistry meterRegistry;
     private final AdaptivePollingService adaptivePolling;
+    private final PollingCadence pollingCadence;
+    private final MatchDeltaEngine deltaEngine;
+    private final LeaderElectionService leaderElection;
     private final TaskScheduler taskScheduler;
+    private final SnapshotFileStore snapshotStore;
+    private final TimeSource timeSource;
 
     private final int maxConsecutiveFailures;
     private final long healthCheckThresholdMs;
     private final boolean enableStreamScraping;
+    private final boolean replayEnabled;
+    private final int eventLogCapacity;
+    private final int completionMissThreshold;
+    private final long completionGraceNanos;
+    private final boolean rehydrateEnabled;
+    private final BroadcastCoalescer broadcastCoalescer;
 
     private final Timer updateCycleTimer;
 
-    private final Map<String, MatchSegment> liveMatches = new ConcurrentHashMap<>();
-    private final Map<String, String> streamLinkCache = new ConcurrentHashMap<>();
-    private final Map<String, Integer> failureCount = new ConcurrentHashMap<>();
-    private final Map<String, LocalDateTime> lastUpdateTimes = new ConcurrentHashMap<>();
+    private static final long STALE_MATCH_NANOS = TimeUnit.HOURS.toNanos(1);
+    private static final int STALE_MATCH_FAILURES = 10;
+    private static final long REHYDRATE_MAX_AGE_HOURS = 12;
+    private static final Pattern VLR_MATCH_ID = Pattern.compile("vlr\\.gg/(\\d+)");
+
+    // Keyed by match_page. Only read and written on the update thread, so a plain map is enough.
+    private final Map<String, TrackedMatch> trackedMatches = new HashMap<>();
+
+    // All fetch results are applied on this single thread, so match state has exactly one writer and the
+    // scheduler thread is never held up by socket I/O or processing.
+    private final ExecutorService updateExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "match-update");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Keyed by the numeric vlr.gg match id. Written on the update thread, read by the events API.
+    private final Map<String, MatchEventLog> eventLogs = new ConcurrentHashMap<>();
+
+    // Readers only ever see this; it is rebuilt from trackedMatches on the update thread after each change.
+    private volatile LiveMatchSnapshot snapshot = LiveMatchSnapshot.EMPTY;
+
+    // Version clients on /topic/matches are assumed to hold; the next patch is diffed against it. Update thread only.
+    private LiveMatchSnapshot patchBase = LiveMatchSnapshot.EMPTY;
+
+    // Segments of the last changed payload. A not-modified poll means upstream still serves exactly these, so they
+    // are what missing matches are checked against. Null until a payload has been seen. Update thread only.
+    private List<MatchSegment> lastUpstreamSegments;
+
+    // True from a startup restore until the first successful poll; published snapshots are marked stale meanwhile.
+    private boolean servingRestored = false;
 
     @Getter
-    private long lastUpdateTime = System.currentTimeMillis();
+    private volatile long lastUpdateTime;
 
-    private boolean isHealthy = true;
-    private int consecutiveFailures = 0;
-    private LocalDateTime lastSuccessfulUpdate = LocalDateTime.now();
+    private volatile boolean isHealthy = true;
+    private volatile int consecutiveFailures = 0;
+    private volatile LocalDateTime lastSuccessfulUpdate;
 
     private ScheduledFuture<?> scheduledTask;
     private volatile boolean isShuttingDown = false;
@@ -64,25 +116,51 @@ public class MatchTrackingService {
     public MatchTrackingService(
             final VlrggMatchApiClient apiClient,
             final MatchHistoryService historyService,
-            final SimpMessagingTemplate messagingTemplate,
+            final LiveMatchPublisher publisher,
             final StreamLinkScraper streamLinkScraper,
             final MeterRegistry meterRegistry,
             final AdaptivePollingService adaptivePolling,
+            final PollingCadence pollingCadence,
+            final MatchDeltaEngine deltaEngine,
+            final LeaderElectionService leaderElection,
             final TaskScheduler taskScheduler,
+            final SnapshotFileStore snapshotStore,
+            final TimeSource timeSource,
             @Value("${app.match-tracking.max-consecutive-failures:5}") final int maxConsecutiveFailures,
             @Value("${app.match-tracking.health-check-threshold-ms:60000}") final long healthCheckThresholdMs,
-            @Value("${app.match-tracking.enable-stream-scraping:true}") final boolean enableStreamScraping) {
+            @Value("${app.match-tracking.enable-stream-scraping:true}") final boolean enableStreamScraping,
+            @Value("${app.replay.enabled:false}") final boolean replayEnabled,
+            @Value("${app.match-tracking.event-log-capacity:64}") final int eventLogCapacity,
+            @Value("${app.match-tracking.completion.miss-threshold:3}") final int completionMissThreshold,
+            @Value("${app.match-tracking.completion.grace-ms:90000}") final long completionGraceMs,
+            @Value("${app.match-tracking.rehydrate-on-startup:true}") final boolean rehydrateEnabled,
+            @Value("${app.match-tracking.broadcast.min-interval-ms:1000}") final long broadcastMinIntervalMs,
+            @Value("${app.match-tracking.broadcast.max-delay-ms:1000}") final long broadcastMaxDelayMs) {
 
         this.apiClient = apiClient;
         this.historyService = historyService;
-        this.messagingTemplate = messagingTemplate;
+        this.publisher = publisher;
         this.streamLinkScraper = streamLinkScraper;
         this.meterRegistry = meterRegistry;
         this.adaptivePolling = adaptivePolling;
+        this.pollingCadence = pollingCadence;
+        this.deltaEngine = deltaEngine;
+        this.leaderElection = leaderElection;
         this.taskScheduler = taskScheduler;
+        this.snapshotStore = snapshotStore;
+        this.timeSource = timeSource;
+        this.lastUpdateTime = timeSource.currentTimeMillis();
+        this.lastSuccessfulUpdate = timeSource.localDateTime();
         this.maxConsecutiveFailures = maxConsecutiveFailures;
         this.healthCheckThresholdMs = healthCheckThresholdMs;
         this.enableStreamScraping = enableStreamScraping;
+        this.replayEnabled = replayEnabled;
+        this.eventLogCapacity = eventLogCapacity;
+        this.completionMissThreshold = Math.max(1, completionMissThreshold);
+        this.completionGraceNanos = TimeUnit.MILLISECONDS.toNanos(completionGraceMs);
+        this.rehydrateEnabled = rehydrateEnabled;
+        this.broadcastCoalescer = new BroadcastCoalescer(this::broadcastUpdates, updateExecutor, taskScheduler,
+                meterRegistry, broadcastMinIntervalMs, broadcastMaxDelayMs);
 
         this.updateCycleTimer = Timer.builder("match.update.cycle")
                 .description("Time taken for match update cycle")
@@ -91,10 +169,124 @@ public class MatchTrackingService {
 
     @PostConstruct
     public void startAdaptivePolling() {
+        if (replayEnabled) {
+            log.info("Replay mode enabled, live polling is disabled");
+            return;
+        }
+
+        if (snapshotStore.isEnabled() || rehydrateEnabled) {
+            // Queued ahead of the first poll on the same thread, so that poll reconciles against restored state.
+            updateExecutor.execute(this::restoreLocalState);
+        }
+
         log.info("Starting adaptive polling for match tracking");
         scheduleNextUpdate();
     }
 
+    /**
+     * Restores the matches that were live when this service last stopped, including their scraped stream links,
+     * so a restart does not treat them as new: no second recordMatchStart and no re-scrape. The local snapshot
+     * file is read first since it needs neither the database nor the network and holds complete segments;
+     * match_tracking then fills in anything the file did not have. The first poll confirms or updates them all,
+     * and any that have since ended go through the usual completion path.
+     */
+    private void restoreLocalState() {
+        if (snapshotStore.isEnabled()) {
+            restoreFromSnapshotFile();
+        }
+
+        if (rehydrateEnabled) {
+            rehydrateFromTracking();
+        }
+    }
+
+    private void restoreFromSnapshotFile() {
+        snapshotStore.load().ifPresent(stored -> {
+            final long ageMs = timeSource.currentTimeMillis() - stored.savedAt();
+
+            // Same cutoff as match_tracking: after this long the saved matches have almost certainly ended.
+            if (ageMs > TimeUnit.HOURS.toMillis(REHYDRATE_MAX_AGE_HOURS)) {
+                log.info("Ignoring snapshot file saved {} minutes ago", TimeUnit.MILLISECONDS.toMinutes(ageMs));
+                meterRegistry.counter("match.rehydrated.skipped", "source", "file", "reason", "expired").increment();
+                return;
+            }
+
+            final long now = timeSource.nanoTime();
+            int restored = 0;
+
+            for (final MatchSegment segment : stored.matches()) {
+                if (restoreMatch(segment, now, stored.savedAt())) {
+                    restored++;
+                }
+            }
+
+            servingRestored = true;
+
+            // Numbering continues from the saved version so clients keyed on it never see it go backwards.
+            snapshot = LiveMatchSnapshot.of(stored.version(), timeSource.instant(), currentViews(), true);
+            patchBase = snapshot;
+            meterRegistry.counter("match.rehydrated", "source", "file").increment(restored);
+            log.info("Serving {} matches from snapshot file until the first poll", restored);
+        });
+    }
+
+    private void rehydrateFromTracking() {
+        final List<MatchTrackingEntity> rows = historyService.getLiveTrackedMatches(
+                timeSource.localDateTime().minusHours(REHYDRATE_MAX_AGE_HOURS));
+
+        final long now = timeSource.nanoTime();
+        int restored = 0;
+
+        for (final MatchTrackingEntity row : rows) {
+            final LocalDateTime lastSeen = row.getUpdatedAt() != null ? row.getUpdatedAt() : row.getStartTime();
+            final long lastSeenAt = lastSeen.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+            if (restoreMatch(toSegment(row), now, lastSeenAt)) {
+                restored++;
+            }
+        }
+
+        if (restored > 0) {
+            servingRestored = true;
+            patchBase = refreshSnapshot();
+            meterRegistry.counter("match.rehydrated", "source", "database").increment(restored);
+            log.info("Restored {} live matches from match_tracking", restored);
+        }
+    }
+
+    private boolean restoreMatch(final MatchSegment segment, final long now, final long lastSeenAt) {
+        if (!isValidMatchSegment(segment) || trackedMatches.containsKey(segment.match_page())) {
+            return false;
+        }
+
+        trackedMatches.put(segment.match_page(), TrackedMatch.rehydrated(segment, now, lastSeenAt));
+
+        final String key = eventKey(segment.match_page());
+
+        if (key != null) {
+            eventLogs.put(key, new MatchEventLog(eventLogCapacity));
+        }
+
+        return true;
+    }
+
+    private static MatchSegment toSegment(final MatchTrackingEntity row) {
+        return new MatchSegment(
+                row.getTeam1(), row.getTeam2(),
+                null, null,
+                null, null,
+                row.getLastScore1(), row.getLastScore2(),
+                null, null,
+                null, null,
+                null, row.getCurrentMap(),
+                null,
+                row.getMatchEvent(), null,
+                null,
+                row.getMatchId(),
+                row.getStreamLink()
+        );
+    }
+
     @PreDestroy
     public void shutdown() {
         log.info("Shutting down match tracking service");
@@ -104,9 +296,12 @@ public class MatchTrackingService {
             scheduledTask.cancel(false);
             log.info("Cancelled scheduled polling task");
         }
+
+        updateExecutor.execute(broadcastCoalescer::cancel);
+        updateExecutor.shutdown();
     }
 
-    private void scheduleNextUpdate() {
+    private synchronized void scheduleNextUpdate() {
         if (isShuttingDown) {
             return;
         }
@@ -115,18 +310,22 @@ public class MatchTrackingService {
             scheduledTask.cancel(false);
         }
 
-        final boolean hasMatches = !liveMatches.isEmpty();
+        final LiveMatchSnapshot current = snapshot;
+        final boolean hasMatches = !current.isEmpty();
         final int interval = adaptivePolling.getNextInterval(hasMatches);
+        // The task scheduler runs on real time, so ticks are planned against the system clock, not timeSource.
+        final long now = System.currentTimeMillis();
+        final long nextTick = pollingCadence.nextTick(now, interval);
 
         scheduledTask = taskScheduler.schedule(
                 this::updateMatchesAndReschedule,
-                Instant.now().plusMillis(interval)
+                Instant.ofEpochMilli(nextTick)
         );
 
         if (hasMatches) {
-            log.debug("Active polling - {} live matches, next update in {} seconds", liveMatches.size(), interval / 1000);
+            log.debug("Active polling - {} live matches, next update in {} ms", current.size(), nextTick - now);
         } else {
-            log.debug("Idle polling mode: {}, next update in {} seconds", adaptivePolling.getPollingMode(), interval / 1000);
+            log.debug("Idle polling mode: {}, next update in {} ms", adaptivePolling.getPollingMode(), nextTick - now);
         }
 
         meterRegistry.gauge("match.polling.interval", interval);
@@ -134,75 +333,244 @@ public class MatchTrackingService {
     }
 
     private void updateMatchesAndReschedule() {
-        try {
-            updateMatches();
-        } finally {
+        if (!leaderElection.isLeader()) {
+            // Followers keep ticking so they can take over immediately, but the leader does the fetching.
             scheduleNextUpdate();
+            return;
         }
+
+        updateMatchesAsync().whenComplete((ignored, throwable) -> scheduleNextUpdate());
     }
 
+    @EventListener
+    public void onLeadershipChanged(final LeaderElectionService.LeadershipChangedEvent event) {
+        if (event.leader() && !isShuttingDown) {
+            log.info("Acquired leadership, polling immediately");
+            taskScheduler.schedule(this::updateMatchesAndReschedule, Instant.now());
+        }
+    }
+
+    /**
+     * Replaces this follower's view with the leader's snapshot. History is not touched; the leader owns writes.
+     * The changes are still diffed so the follower keeps its own event logs, exactly as the leader would.
+     */
+    @EventListener
+    public void onClusterSnapshot(final LeaderElectionService.ClusterSnapshotEvent event) {
+        if (leaderElection.isLeader()) {
+            return;
+        }
+
+        updateExecutor.execute(() -> {
+            final Set<String> received = event.matches().stream()
+                    .map(MatchSegment::match_page)
+                    .collect(Collectors.toSet());
+
+            final long now = timeSource.nanoTime();
+            final long nowMillis = timeSource.currentTimeMillis();
+            final List<MatchDelta> deltas = new ArrayList<>();
+
+            trackedMatches.values().removeIf(tracked -> {
+                if (received.contains(tracked.matchId())) {
+                    return false;
+                }
+
+                deltas.add(MatchDelta.completed(tracked.view(), tracked.score(), tracked.lastSeenAt()));
+                return true;
+            });
+
+            for (final MatchSegment segment : event.matches()) {
+                final TrackedMatch tracked = trackedMatches.get(segment.match_page());
+
+                if (tracked == null) {
+                    final TrackedMatch created = new TrackedMatch(segment, now, nowMillis);
+                    trackedMatches.put(segment.match_page(), created);
+                    deltas.add(MatchDelta.added(created.view(), created.score(), nowMillis));
+                } else {
+                    final EnumSet<MatchDelta.Field> changes = deltaEngine.changedFields(tracked.segment(), segment);
+                    tracked.update(segment);
+                    tracked.markSeen(now, nowMillis);
+
+                    if (!changes.isEmpty()) {
+                        deltas.add(MatchDelta.updated(tracked.view(), tracked.score(), changes, nowMillis));
+                    }
+                }
+            }
+
+            deltas.forEach(this::recordEvent);
+
+            servingRestored = false;
+            broadcastCoalescer.request("cluster");
+            markUpdateSuccessful();
+        });
+    }
+
+    /**
+     * Runs one fetch cycle and waits for it. Does nothing on a follower, which takes its state from the leader.
+     */
     public void updateMatches() {
+        if (!leaderElection.isLeader()) {
+            log.debug("Skipping update on a follower node");
+            return;
+        }
+
+        updateMatchesAsync().join();
+    }
+
+    /**
+     * Applies an already parsed payload as if it had just been fetched, on the same update thread as live polls.
+     * Used by the replay source to drive the pipeline from recorded traffic.
+     */
+    public void updateMatches(final LiveMatchData data) {
+        CompletableFuture.runAsync(() -> applyFetchResult(ApiFetchResult.updated(data)), updateExecutor)
+                .exceptionally(throwable -> {
+                    handleUpdateException(throwable);
+                    return null;
+                })
+                .join();
+    }
+
+    /**
+     * Starts a fetch without blocking the caller. The result is applied on the update thread and the returned
+     * future completes once the cycle, including persistence, has finished; the broadcast may be held back by the
+     * coalescer to merge with others.
+     */
+    public CompletableFuture<Void> updateMatchesAsync() {
         final Timer.Sample sample = Timer.start();
+        // Cadence alignment feeds the real task scheduler, so it stays on the system clock like scheduleNextUpdate.
+        final long requestedAt = System.currentTimeMillis();
+
+        return fetchCurrentMatchesAsync()
+                .thenAcceptAsync(result -> {
+                    pollingCadence.recordPoll(requestedAt, System.currentTimeMillis(), result);
+                    applyFetchResult(result);
+                }, updateExecutor)
+                .handle((ignored, throwable) -> {
+                    if (throwable != null) {
+                        handleUpdateException(throwable);
+                    }
 
-        try {
-            final List<MatchSegment> currentMatches = fetchCurrentMatches();
+                    sample.stop(updateCycleTimer);
+                    return null;
+                });
+    }
 
-            if (currentMatches == null) {
-                handleApiFailure();
-                return;
-            }
+    private void applyFetchResult(final ApiFetchResult result) {
+        if (result.isFailed()) {
+            handleApiFailure();
+            return;
+        }
 
-            processMatchUpdates(currentMatches);
-            broadcastUpdates();
+        if (result.isNotModified()) {
+            // The body is the same, but time has moved on: a match that already dropped out of it keeps counting
+            // toward completion, and stale matches still age out. Matches that are present are simply unchanged.
+            final List<MatchDelta> deltas = lastUpstreamSegments != null
+                    ? processMatchUpdates(lastUpstreamSegments)
+                    : List.of();
 
-            consecutiveFailures = 0;
-            lastSuccessfulUpdate = LocalDateTime.now();
-            lastUpdateTime = System.currentTimeMillis();
-            isHealthy = true;
+            applyDeltas(deltas);
 
-            meterRegistry.counter("match.updates", "status", "success").increment();
+            if (servingRestored) {
+                servingRestored = false;
+                refreshSnapshot();
+            }
 
-            // final String currentMode = adaptivePolling.getPollingMode();
-            if (currentMatches.isEmpty() && adaptivePolling.getConsecutiveEmptyPolls() == 1) {
-                log.info("No live matches found, switching to idle polling");
-            } else if (!currentMatches.isEmpty() && adaptivePolling.getConsecutiveEmptyPolls() > 0) {
-                log.info("Live matches resumed ({} matches), switching to active polling", currentMatches.size());
+            if (!deltas.isEmpty()) {
+                broadcastCoalescer.request("poll");
             }
 
-        } catch (final Exception e) {
-            handleUpdateException(e);
-        } finally {
-            sample.stop(updateCycleTimer);
+            markUpdateSuccessful();
+            meterRegistry.counter("match.updates", "status", "unchanged").increment();
+            return;
+        }
+
+        final LiveMatchData data = result.data();
+        final List<MatchSegment> currentMatches = data != null && data.segments() != null ? data.segments() : List.of();
+
+        lastUpstreamSegments = currentMatches;
+        applyDeltas(processMatchUpdates(currentMatches));
+        servingRestored = false;
+        broadcastCoalescer.request("poll");
+
+        markUpdateSuccessful();
+        meterRegistry.counter("match.updates", "status", "success").increment();
+
+        // final String currentMode = adaptivePolling.getPollingMode();
+        if (currentMatches.isEmpty() && adaptivePolling.getConsecutiveEmptyPolls() == 1) {
+            log.info("No live matches found, switching to idle polling");
+        } else if (!currentMatches.isEmpty() && adaptivePolling.getConsecutiveEmptyPolls() > 0) {
+            log.info("Live matches resumed ({} matches), switching to active polling", currentMatches.size());
         }
     }
 
-    private List<MatchSegment> fetchCurrentMatches() {
+    private CompletableFuture<ApiFetchResult> fetchCurrentMatchesAsync() {
         try {
-            final LiveMatchData data = apiClient.getLiveMatchData();
-            return data != null ? data.segments() : null;
+            return apiClient.fetchLiveMatchDataAsync();
         } catch (Exception e) {
             log.warn("Failed to fetch current matches: {}", e.getMessage());
             meterRegistry.counter("api.errors", "source", "vlrgg", "type", "fetch_failure").increment();
-            return null;
+            return CompletableFuture.completedFuture(ApiFetchResult.failed());
         }
     }
 
-    private void processMatchUpdates(final List<MatchSegment> currentMatches) {
+    private void markUpdateSuccessful() {
+        consecutiveFailures = 0;
+        lastSuccessfulUpdate = timeSource.localDateTime();
+        lastUpdateTime = timeSource.currentTimeMillis();
+        isHealthy = true;
+    }
+
+    /**
+     * Brings tracked state in line with the latest payload and returns what changed. Side effects such as
+     * persistence and scraping are left to {@link #applyDeltas(List)}.
+     */
+    private List<MatchDelta> processMatchUpdates(final List<MatchSegment> currentMatches) {
+        final long now = timeSource.nanoTime();
+        final long nowMillis = timeSource.currentTimeMillis();
+        final List<MatchDelta> deltas = new ArrayList<>();
         final Set<String> currentMatchIds = currentMatches.stream()
                 .map(MatchSegment::match_page)
                 .collect(Collectors.toSet());
 
-        final Set<String> completedMatchIds = liveMatches.keySet().stream()
-                .filter(matchId -> !currentMatchIds.contains(matchId))
-                .collect(Collectors.toSet());
+        trackedMatches.values().removeIf(tracked -> {
+            if (currentMatchIds.contains(tracked.matchId()) || !isConfirmedEnded(tracked, now)) {
+                return false;
+            }
 
-        completedMatchIds.forEach(this::handleCompletedMatch);
-        currentMatches.forEach(this::handleMatchUpdate);
+            deltas.add(MatchDelta.completed(tracked.view(), tracked.score(), tracked.lastSeenAt()));
+            return true;
+        });
 
-        cleanupStaleData();
+        for (final MatchSegment segment : currentMatches) {
+            handleMatchUpdate(segment, now, nowMillis, deltas);
+        }
+
+        cleanupStaleData(now, deltas);
+        return deltas;
     }
 
-    private void handleMatchUpdate(final MatchSegment segment) {
+    /**
+     * Upstream regularly drops a live match from a single payload, so one miss only makes it a suspect. It is
+     * finalized after enough consecutive misses or once it has been missing for the grace period; until then it
+     * stays tracked and visible, and reappearing costs nothing.
+     */
+    private boolean isConfirmedEnded(final TrackedMatch tracked, final long now) {
+        final int misses = tracked.recordMiss(now);
+
+        if (misses >= completionMissThreshold || tracked.missingForNanos(now) >= completionGraceNanos) {
+            meterRegistry.counter("match.completion", "outcome", "confirmed").increment();
+            return true;
+        }
+
+        if (misses == 1) {
+            log.debug("Match {} missing from poll, suspected ended", tracked.matchId());
+            meterRegistry.counter("match.completion", "outcome", "suspected").increment();
+        }
+
+        return false;
+    }
+
+    private void handleMatchUpdate(final MatchSegment segment, final long now, final long nowMillis,
+                                   final List<MatchDelta> deltas) {
         final String matchId = segment.match_page();
 
         if (!isValidMatchSegment(segment)) {
@@ -211,13 +579,35 @@ public class MatchTrackingService {
             return;
         }
 
-        final MatchSegment previousSegment = liveMatches.get(matchId);
-        lastUpdateTimes.put(matchId, LocalDateTime.now());
+        final TrackedMatch tracked = trackedMatches.get(matchId);
+
+        if (tracked == null) {
+            final TrackedMatch created = new TrackedMatch(segment, now, nowMillis);
+            trackedMatches.put(matchId, created);
+            deltas.add(MatchDelta.added(created.view(), created.score(), nowMillis));
+            return;
+        }
+
+        if (tracked.isSuspectEnded()) {
+            log.info("Match {} reappeared after {} missed polls", matchId, tracked.missedPolls());
+            meterRegistry.counter("match.completion", "outcome", "recovered").increment();
+        }
+
+        tracked.markSeen(now, nowMillis);
+
+        // A restored match always adopts the full upstream segment, but only what really moved while we were
+        // down counts as a change.
+        final boolean reconcile = tracked.isRehydrated();
+        final EnumSet<MatchDelta.Field> changes = reconcile
+                ? deltaEngine.reconciledFields(tracked.segment(), segment)
+                : deltaEngine.changedFields(tracked.segment(), segment);
+
+        if (reconcile || !changes.isEmpty()) {
+            tracked.update(segment);
+        }
 
-        if (previousSegment == null) {
-            handleNewMatch(segment, matchId);
-        } else if (hasSignificantChanges(previousSegment, segment)) {
-            handleMatchChanges(segment, matchId, previousSegment);
+        if (!changes.isEmpty()) {
+            deltas.add(MatchDelta.updated(tracked.view(), tracked.score(), changes, nowMillis));
         }
     }
 
@@ -230,7 +620,67 @@ public class MatchTrackingService {
                 !segment.team2().trim().isEmpty();
     }
 
-    private void handleNewMatch(final MatchSegment segment, final String matchId) {
+    private void applyDeltas(final List<MatchDelta> deltas) {
+        int newMatches = 0;
+
+        for (final MatchDelta delta : deltas) {
+            if (delta.type() == MatchDelta.Type.NEW) {
+                newMatches++;
+            }
+
+            switch (delta.type()) {
+                case NEW -> handleNewMatch(delta);
+                case UPDATED -> handleMatchChanges(delta);
+                case COMPLETED -> handleCompletedMatch(delta);
+                case REMOVED -> meterRegistry.counter("match.cleanup", "type", "stale").increment();
+            }
+
+            recordEvent(delta);
+        }
+
+        if (newMatches > 0 && newMatches == trackedMatches.size()) {
+            log.info("First live match detected, resetting to active polling");
+            adaptivePolling.reset();
+        }
+    }
+
+    private void recordEvent(final MatchDelta delta) {
+        final String key = eventKey(delta.matchId());
+
+        if (key == null) {
+            return;
+        }
+
+        switch (delta.type()) {
+            case NEW -> eventLogs.put(key, new MatchEventLog(eventLogCapacity));
+            case COMPLETED, REMOVED -> eventLogs.remove(key);
+            case UPDATED -> {
+                final MatchEventLog eventLog = eventLogs.get(key);
+
+                if (eventLog != null && (delta.has(MatchDelta.Field.SCORE) ||
+                        delta.has(MatchDelta.Field.ROUND_SPLIT) || delta.has(MatchDelta.Field.MAP))) {
+                    eventLog.append(delta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Numeric vlr.gg id from a match page URL, e.g. {@code 498628} for {@code https://www.vlr.gg/498628/a-vs-b}.
+     */
+    static String eventKey(final String matchPage) {
+        if (matchPage == null) {
+            return null;
+        }
+
+        final Matcher matcher = VLR_MATCH_ID.matcher(matchPage);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private void handleNewMatch(final MatchDelta delta) {
+        final MatchSegment segment = delta.segment();
+        final String matchId = delta.matchId();
+
         try {
             log.info("New match detected: {} vs {} ({})",
                     segment.team1(), segment.team2(), matchId);
@@ -241,65 +691,56 @@ public class MatchTrackingService {
                 scrapeStreamLinkAsync(segment, matchId);
             }
 
-            liveMatches.put(matchId, segment);
-            failureCount.remove(matchId);
-
             meterRegistry.counter("match.events", "type", "new").increment();
-
-            if (liveMatches.size() == 1) {
-                log.info("First live match detected, resetting to active polling");
-                adaptivePolling.reset();
-            }
         } catch (final Exception e) {
             log.error("Failed to handle new match {}: {}", matchId, e.getMessage(), e);
             meterRegistry.counter("match.processing", "status", "error", "type", "new_match").increment();
         }
     }
 
-    private void handleMatchChanges(MatchSegment segment, final String matchId, final MatchSegment previousSegment) {
+    private void handleMatchChanges(final MatchDelta delta) {
+        final MatchSegment segment = delta.segment();
+        final String matchId = delta.matchId();
+
         try {
-            if (hasScoreChanged(previousSegment, segment)) {
+            for (final MatchDelta.Field field : delta.changes()) {
+                meterRegistry.counter("match.changes", "field", field.name().toLowerCase()).increment();
+            }
+
+            final boolean scoreChanged = delta.has(MatchDelta.Field.SCORE) || delta.has(MatchDelta.Field.ROUND_SPLIT);
+
+            if (scoreChanged) {
                 log.info("Score updated in {}: {} vs {} ({}-{})",
                         matchId, segment.team1(), segment.team2(),
                         segment.score1(), segment.score2());
 
-                historyService.updateMatchScore(matchId, segment.score1(), segment.score2(),
-                        segment.current_map(), segment.streamLink());
-
                 meterRegistry.counter("match.events", "type", "score_update").increment();
             }
 
-            final String cachedStreamLink = streamLinkCache.get(matchId);
-
-            if ((segment.streamLink() == null || segment.streamLink().isEmpty()) && cachedStreamLink != null) {
-                segment = segment.withStreamLink(cachedStreamLink);
+            // Stream link and map are persisted too, so a restart can restore them without scraping again.
+            if (scoreChanged || delta.has(MatchDelta.Field.MAP) || delta.has(MatchDelta.Field.STREAM_LINK)) {
+                historyService.updateMatchScore(matchId, segment.score1(), segment.score2(),
+                        segment.current_map(), segment.streamLink());
             }
-
-            liveMatches.put(matchId, segment);
         } catch (final Exception e) {
             log.error("Failed to handle match changes for {}: {}", matchId, e.getMessage(), e);
             meterRegistry.counter("match.processing", "status", "error", "type", "update").increment();
         }
     }
 
-    private void handleCompletedMatch(final String matchId) {
-        try {
-            final MatchSegment completedSegment = liveMatches.remove(matchId);
-
-            if (completedSegment != null) {
-                log.info("Match completed: {} vs {} (Final: {}-{})",
-                        completedSegment.team1(), completedSegment.team2(),
-                        completedSegment.score1(), completedSegment.score2());
+    private void handleCompletedMatch(final MatchDelta delta) {
+        final MatchSegment completedSegment = delta.segment();
 
-                historyService.recordMatchCompletion(completedSegment);
-                meterRegistry.counter("match.events", "type", "completed").increment();
-            }
+        try {
+            log.info("Match completed: {} vs {} (Final: {}-{})",
+                    completedSegment.team1(), completedSegment.team2(),
+                    completedSegment.score1(), completedSegment.score2());
 
-            streamLinkCache.remove(matchId);
-            failureCount.remove(matchId);
-            lastUpdateTimes.remove(matchId);
+            historyService.recordMatchCompletion(completedSegment, delta.score(),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(delta.observedAt()), ZoneId.systemDefault()));
+            meterRegistry.counter("match.events", "type", "completed").increment();
         } catch (final Exception e) {
-            log.error("Failed to handle completed match {}: {}", matchId, e.getMessage(), e);
+            log.error("Failed to handle completed match {}: {}", delta.matchId(), e.getMessage(), e);
             meterRegistry.counter("match.processing", "status", "error", "type", "completion").increment();
         }
     }
@@ -313,26 +754,21 @@ public class MatchTrackingService {
                         meterRegistry.counter("stream.scraping", "status", "failed").increment();
                         return null;
                     }
-                }).thenAccept(streamLink -> {
+                }).thenAcceptAsync(streamLink -> {
+                    // Applied on the update thread so match state keeps a single writer.
                     if (streamLink != null && !streamLink.isEmpty()) {
-                        streamLinkCache.put(matchId, streamLink);
-
-                        final MatchSegment currentSegment = liveMatches.get(matchId);
-
-                        if (currentSegment != null) {
-                            MatchSegment updatedSegment = currentSegment.withStreamLink(streamLink);
-                            liveMatches.put(matchId, updatedSegment);
-
-                            try {
-                                messagingTemplate.convertAndSend("/topic/matches", liveMatches.values());
-                                meterRegistry.counter("stream.scraping", "status", "success").increment();
-                            } catch (final Exception e) {
-                                log.warn("Failed to broadcast stream link update: {}", e.getMessage());
-                                meterRegistry.counter("websocket.broadcast", "status", "failed").increment();
-                            }
+                        final TrackedMatch tracked = trackedMatches.get(matchId);
+
+                        // A match that finished while the scrape was running simply drops the link.
+                        if (tracked != null && !streamLink.equals(tracked.streamLink())) {
+                            tracked.setStreamLink(streamLink);
+                            applyDeltas(List.of(MatchDelta.updated(tracked.view(), tracked.score(),
+                                    EnumSet.of(MatchDelta.Field.STREAM_LINK), timeSource.currentTimeMillis())));
+                            broadcastCoalescer.request("scrape");
+                            meterRegistry.counter("stream.scraping", "status", "success").increment();
                         }
                     }
-                }).orTimeout(30, TimeUnit.SECONDS)
+                }, updateExecutor).orTimeout(30, TimeUnit.SECONDS)
                 .exceptionally(ignored -> {
                     log.warn("Stream link scraping timed out or failed for {}", matchId);
                     meterRegistry.counter("stream.scraping", "status", "timeout").increment();
@@ -340,14 +776,75 @@ public class MatchTrackingService {
                 });
     }
 
+    /**
+     * Publishes a new snapshot version if the live matches differ from the current one. Update thread only.
+     */
+    private LiveMatchSnapshot refreshSnapshot() {
+        final LiveMatchSnapshot current = snapshot;
+        final List<MatchSegment> views = currentViews();
+
+        if (sameMatches(current, views)) {
+            snapshot = current.withStale(servingRestored);
+            return snapshot;
+        }
+
+        final LiveMatchSnapshot next = LiveMatchSnapshot.of(current.version() + 1, timeSource.instant(), views, servingRestored);
+        snapshot = next;
+
+        if (!next.stale()) {
+            snapshotStore.offer(next);
+        }
+
+        return next;
+    }
+
+    // Order-insensitive: trackedMatches is a HashMap, and its iteration order moving is not a change clients see.
+    private static boolean sameMatches(final LiveMatchSnapshot snapshot, final List<MatchSegment> views) {
+        if (views.size() != snapshot.size()) {
+            return false;
+        }
+
+        for (final MatchSegment view : views) {
+            if (!view.equals(snapshot.matches().get(view.match_page()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private List<MatchSegment> currentViews() {
+        final List<MatchSegment> views = new ArrayList<>(trackedMatches.size());
+
+        for (final TrackedMatch tracked : trackedMatches.values()) {
+            views.add(tracked.view());
+        }
+
+        return views;
+    }
+
+    /**
+     * Publishes what changed since the last broadcast version, or nothing if the version has not moved. Clients
+     * get full snapshots only by subscribing to {@code /app/matches/snapshot}. Only ever run by the coalescer.
+     */
     private void broadcastUpdates() {
-        try {
-            messagingTemplate.convertAndSend("/topic/matches", liveMatches.values());
-            meterRegistry.counter("websocket.broadcast", "status", "success").increment();
-        } catch (Exception e) {
-            log.error("Failed to broadcast match updates: {}", e.getMessage(), e);
-            meterRegistry.counter("websocket.broadcast", "status", "failed").increment();
+        final LiveMatchSnapshot current = refreshSnapshot();
+        leaderElection.publishSnapshot(current.values());
+
+        if (current.version() == patchBase.version()) {
+            return;
+        }
+
+        final MatchStreamMessage patch = MatchStreamMessage.patch(patchBase, current);
+
+        if (!patch.hasChanges()) {
+            // Clients still hold patchBase, so the next patch has to be diffed against it, not against current.
+            return;
         }
+
+        final LiveMatchSnapshot previous = patchBase;
+        patchBase = current;
+        publisher.publish(previous, current, patch);
     }
 
     private void handleApiFailure() {
@@ -358,11 +855,10 @@ public class MatchTrackingService {
 
         meterRegistry.counter("match.updates", "status", "failed").increment();
 
-        liveMatches.keySet().forEach(matchId ->
-                failureCount.merge(matchId, 1, Integer::sum));
+        trackedMatches.values().forEach(TrackedMatch::recordFailure);
     }
 
-    private void handleUpdateException(final Exception e) {
+    private void handleUpdateException(final Throwable e) {
         consecutiveFailures++;
         isHealthy = false;
 
@@ -370,94 +866,136 @@ public class MatchTrackingService {
         meterRegistry.counter("match.updates", "status", "exception").increment();
     }
 
-    private void cleanupStaleData() {
-        final LocalDateTime cutoff = LocalDateTime.now().minusHours(1);
-
-        lastUpdateTimes.entrySet().removeIf(entry -> entry.getValue().isBefore(cutoff));
-
-        final Set<String> staleMatches = failureCount.entrySet().stream()
-                .filter(entry -> entry.getValue() > 10)
-                .map(Map.Entry::getKey)
-                .filter(matchId -> {
-                    LocalDateTime lastUpdate = lastUpdateTimes.get(matchId);
-                    return lastUpdate == null || lastUpdate.isBefore(cutoff);
-                })
-                .collect(Collectors.toSet());
+    private void cleanupStaleData(final long now, final List<MatchDelta> deltas) {
+        trackedMatches.values().removeIf(tracked -> {
+            if (tracked.failureCount() <= STALE_MATCH_FAILURES || now - tracked.lastSeenNanos() < STALE_MATCH_NANOS) {
+                return false;
+            }
 
-        staleMatches.forEach(matchId -> {
-            log.warn("Removing stale match {}", matchId);
-            liveMatches.remove(matchId);
-            streamLinkCache.remove(matchId);
-            failureCount.remove(matchId);
-            meterRegistry.counter("match.cleanup", "type", "stale").increment();
+            log.warn("Removing stale match {}", tracked.matchId());
+            deltas.add(MatchDelta.removed(tracked.view(), tracked.score(), tracked.lastSeenAt()));
+            return true;
         });
     }
 
-    private boolean hasSignificantChanges(final MatchSegment oldSegment, final MatchSegment newSegment) {
-        return hasScoreChanged(oldSegment, newSegment) ||
-                !Objects.equals(oldSegment.current_map(), newSegment.current_map()) ||
-                !Objects.equals(oldSegment.streamLink(), newSegment.streamLink()) ||
-                !Objects.equals(oldSegment.time_until_match(), newSegment.time_until_match());
+    public Map<String, MatchSegment> getLiveMatches() {
+        return snapshot.matches();
     }
 
-    private boolean hasScoreChanged(final MatchSegment oldSegment, final MatchSegment newSegment) {
-        return !Objects.equals(oldSegment.score1(), newSegment.score1()) ||
-                !Objects.equals(oldSegment.score2(), newSegment.score2()) ||
-                !Objects.equals(oldSegment.team1_round_ct(), newSegment.team1_round_ct()) ||
-                !Objects.equals(oldSegment.team1_round_t(), newSegment.team1_round_t()) ||
-                !Objects.equals(oldSegment.team2_round_ct(), newSegment.team2_round_ct()) ||
-                !Objects.equals(oldSegment.team2_round_t(), newSegment.team2_round_t());
+    /**
+     * Recorded changes after {@code since} for a live match, or empty if no live match has that vlr.gg id.
+     * See {@link MatchEventLog#since(long, long)} for {@code epoch}.
+     */
+    public Optional<MatchEventLog.Slice> getMatchEvents(final String vlrMatchId, final long since, final long epoch) {
+        return Optional.ofNullable(eventLogs.get(vlrMatchId)).map(eventLog -> eventLog.since(since, epoch));
     }
 
-    public Map<String, MatchSegment> getLiveMatches() {
-        return Map.copyOf(liveMatches);
+    public LiveMatchSnapshot getSnapshot() {
+        return snapshot;
     }
 
     public boolean isHealthy() {
-        final long timeSinceLastUpdate = System.currentTimeMillis() - lastUpdateTime;
+        if (!leaderElection.isLeader()) {
+            // Followers do not poll, so their freshness is the leader's; what they need is a live coordination link.
+            return leaderElection.isHealthy();
+        }
+
+        final long timeSinceLastUpdate = timeSource.currentTimeMillis() - lastUpdateTime;
         return isHealthy && timeSinceLastUpdate < healthCheckThresholdMs;
     }
 
     public int getLiveMatchCount() {
-        return liveMatches.size();
+        return snapshot.size();
     }
 
     public Map<String, Object> getHealthDetails() {
         return Map.of(
                 "isHealthy", isHealthy(),
-                "liveMatches", liveMatches.size(),
+                "liveMatches", snapshot.size(),
                 "consecutiveFailures", consecutiveFailures,
                 "lastSuccessfulUpdate", lastSuccessfulUpdate,
-                "timeSinceLastUpdate", System.currentTimeMillis() - lastUpdateTime,
+                "timeSinceLastUpdate", timeSource.currentTimeMillis() - lastUpdateTime,
                 "pollingMode", adaptivePolling.getPollingMode(),
                 "currentPollingInterval", adaptivePolling.getCurrentInterval(),
                 "consecutiveEmptyPolls", adaptivePolling.getConsecutiveEmptyPolls(),
-                "estimatedHourlyDbConnections", adaptivePolling.calculateHourlyDbConnections()
+                "estimatedHourlyDbConnections", adaptivePolling.calculateHourlyDbConnections(),
+                "clusterRole", leaderElection.getRole()
         );
     }
 
-    public void forceRefresh() {
+    /**
+     * Resets polling state and fetches right away, then broadcasts the result without waiting for the coalescer.
+     * Only the leader fetches and writes, so a follower refuses and returns false; the refresh has to be sent to
+     * the leader instead.
+     */
+    public boolean forceRefresh() {
+        if (!leaderElection.isLeader()) {
+            log.info("Refusing manual refresh on a follower node");
+            meterRegistry.counter("match.operations", "type", "manual_refresh_rejected").increment();
+            return false;
+        }
+
         log.info("Forcing manual refresh of match data");
         meterRegistry.counter("match.operations", "type", "manual_refresh").increment();
 
         adaptivePolling.reset();
+        pollingCadence.reset();
+        apiClient.resetChangeDetection();
 
         if (scheduledTask != null && !scheduledTask.isCancelled()) {
             scheduledTask.cancel(false);
         }
 
         updateMatches();
+
+        // An admin asked for fresh data, so whatever the refresh produced goes out now rather than on the next window.
+        CompletableFuture.runAsync(() -> broadcastCoalescer.flush("admin"), updateExecutor).join();
         scheduleNextUpdate();
+        return true;
     }
 
+    /**
+     * Drops everything cached about the live matches: failure counters, scraped stream links both here and in the
+     * scraper's cache. Links are scraped again straight away when scraping is on. A follower only clears its own
+     * scraper cache, since its links come from the leader.
+     */
     public void clearCache() {
         log.info("Clearing all cached data");
-        streamLinkCache.clear();
-        failureCount.clear();
-        lastUpdateTimes.clear();
+        streamLinkScraper.evictCachedLinks();
+
+        updateExecutor.execute(() -> {
+            trackedMatches.values().forEach(TrackedMatch::resetFailures);
+
+            if (leaderElection.isLeader()) {
+                clearStreamLinks();
+            }
+        });
 
         adaptivePolling.reset();
 
         meterRegistry.counter("match.operations", "type", "cache_clear").increment();
     }
+
+    private void clearStreamLinks() {
+        final long nowMillis = timeSource.currentTimeMillis();
+        final List<MatchDelta> deltas = new ArrayList<>();
+
+        for (final TrackedMatch tracked : trackedMatches.values()) {
+            if (tracked.streamLink() != null) {
+                tracked.setStreamLink(null);
+                deltas.add(MatchDelta.updated(tracked.view(), tracked.score(),
+                        EnumSet.of(MatchDelta.Field.STREAM_LINK), nowMillis));
+            }
+        }
+
+        if (!deltas.isEmpty()) {
+            // Persisted like any other link change, so a restart does not bring the old links back.
+            applyDeltas(deltas);
+            broadcastCoalescer.request("admin");
+        }
+
+        if (enableStreamScraping) {
+            trackedMatches.values().forEach(tracked -> scrapeStreamLinkAsync(tracked.segment(), tracked.matchId()));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+package quest.gekko.spiketracker.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import quest.gekko.spiketracker.model.api.ApiFetchResult;
+
+/**
+ * Fixed-rate tick source for the live_score poller. Ticks are laid out on a grid anchored at the previous tick
+ * rather than at the end of the previous cycle, so fetch and processing time never stretch the cadence; ticks
+ * that were missed because a cycle overran are skipped instead of queued.
+ * <p>
+ * The grid is also nudged towards the moment upstream refreshes its cached payload. Refresh instants are
+ * estimated from the {@code Age} response header when present. Without it, each changed payload only says the
+ * refresh happened between the previous poll and this one; those brackets are intersected modulo the interval
+ * and an estimate is only taken once the intersection is narrower than {@code phase-resolution-ms}. A bracket
+ * from our own grid alone always spans a whole interval, so it never moves the grid by itself. When the estimates
+ * agree on a phase relative to the polling interval, polls are delayed to land just after each refresh.
+ * <p>
+ * Shifts only ever delay a tick, by at most half an interval at a time, so two ticks are never closer together
+ * than the interval.
+ */
+@Slf4j
+@Component
+public class PollingCadence {
+    private final boolean phaseAlignmentEnabled;
+    private final long landingMarginMs;
+    private final int minPhaseSamples;
+    private final double minPhaseConcentration;
+    private final long phaseResolutionMs;
+
+    private final MeterRegistry meterRegistry;
+
+    // Most recent refresh estimates (epoch millis), oldest overwritten first.
+    private final long[] refreshEstimates;
+    private int refreshCount = 0;
+    private int refreshCursor = 0;
+
+    private long lastTick = -1;
+    private long lastInterval = -1;
+    private long lastPollRequestedAt = -1;
+
+    // Where upstream refreshes, modulo lastInterval, as far as the brackets seen so far narrow it down.
+    private long bracketStart = -1;
+    private long bracketWidth = -1;
+    private volatile long phaseOffsetMs = -1;
+
+    public PollingCadence(
+            final MeterRegistry meterRegistry,
+            @Value("${app.match-tracking.cadence.phase-alignment-enabled:true}") final boolean phaseAlignmentEnabled,
+            @Value("${app.match-tracking.cadence.landing-margin-ms:750}") final long landingMarginMs,
+            @Value("${app.match-tracking.cadence.phase-samples:16}") final int phaseSamples,
+            @Value("${app.match-tracking.cadence.min-phase-samples:4}") final int minPhaseSamples,
+            @Value("${app.match-tracking.cadence.min-phase-concentration:0.8}") final double minPhaseConcentration,
+            @Value("${app.match-tracking.cadence.phase-resolution-ms:2000}") final long phaseResolutionMs) {
+        this.meterRegistry = meterRegistry;
+        this.phaseAlignmentEnabled = phaseAlignmentEnabled;
+        this.landingMarginMs = landingMarginMs;
+        this.refreshEstimates = new long[Math.max(1, phaseSamples)];
+        this.minPhaseSamples = minPhaseSamples;
+        this.minPhaseConcentration = minPhaseConcentration;
+        this.phaseResolutionMs = phaseResolutionMs;
+
+        meterRegistry.gauge("match.polling.phase_offset_ms", this, cadence -> cadence.phaseOffsetMs);
+    }
+
+    /**
+     * Returns the epoch millis of the next tick for the given interval. The tick normally lands one interval after
+     * the previous one; with a learned phase it may be delayed by up to half an interval to move towards the
+     * upstream refresh, never brought forward. Ticks already in the past are dropped.
+     */
+    public synchronized long nextTick(final long now, final int interval) {
+        if (interval != lastInterval) {
+            // Brackets are kept modulo the interval, so they mean nothing under a different one.
+            bracketStart = -1;
+            bracketWidth = -1;
+            lastInterval = interval;
+        }
+
+        if (lastTick < 0) {
+            lastTick = now;
+            return now + interval;
+        }
+
+        long next = lastTick + interval;
+        final long phase = alignedPhase(interval);
+        phaseOffsetMs = phase;
+
+        if (phase >= 0) {
+            final long delay = Math.floorMod(phase - next, (long) interval);
+
+            // A phase just before the tick only means we land a little later after the refresh than planned;
+            // reaching it would take almost a whole interval of delay, so that is left alone.
+            if (delay < interval - landingMarginMs) {
+                next += Math.min(delay, interval / 2);
+            }
+        }
+
+        if (next <= now) {
+            final long skipped = (now - next) / interval + 1;
+            next += skipped * interval;
+
+            meterRegistry.counter("match.polling.ticks", "outcome", "skipped").increment(skipped);
+            log.debug("Polling cycle overran, skipping {} tick(s)", skipped);
+        }
+
+        lastTick = next;
+        return next;
+    }
+
+    /**
+     * Feeds the outcome of a poll started at {@code requestedAt} and answered at {@code respondedAt} into the
+     * refresh phase estimate.
+     */
+    public synchronized void recordPoll(final long requestedAt, final long respondedAt, final ApiFetchResult result) {
+        if (!phaseAlignmentEnabled || result.isFailed()) {
+            return;
+        }
+
+        if (result.hasUpstreamAge()) {
+            addRefreshEstimate(respondedAt - result.upstreamAgeMs());
+        } else if (result.isUpdated() && lastPollRequestedAt >= 0 && lastInterval > 0) {
+            // The payload changed somewhere between the last poll that still saw the old one and this one.
+            narrowBracket(lastPollRequestedAt, requestedAt - lastPollRequestedAt);
+        }
+
+        lastPollRequestedAt = requestedAt;
+    }
+
+    /**
+     * Forgets the tick grid and phase estimate, e.g. after a manual refresh broke the cadence.
+     */
+    public synchronized void reset() {
+        lastTick = -1;
+        lastPollRequestedAt = -1;
+        bracketStart = -1;
+        bracketWidth = -1;
+        refreshCount = 0;
+        refreshCursor = 0;
+        phaseOffsetMs = -1;
+    }
+
+    public long getPhaseOffsetMs() {
+        return phaseOffsetMs;
+    }
+
+    // Intersects the refresh window with [from, from + width) modulo the interval and records its middle once it
+    // is narrow enough. A window that no longer overlaps means upstream moved, so it starts over.
+    private void narrowBracket(final long from, final long width) {
+        if (width >= lastInterval) {
+            return;
+        }
+
+        final long start = Math.floorMod(from, lastInterval);
+
+        if (bracketWidth < 0) {
+            bracketStart = start;
+            bracketWidth = width;
+        } else {
+            final long intoCurrent = Math.floorMod(start - bracketStart, lastInterval);
+            final long intoNew = Math.floorMod(bracketStart - start, lastInterval);
+
+            if (intoCurrent <= bracketWidth) {
+                bracketWidth = Math.min(width, bracketWidth - intoCurrent);
+                bracketStart = start;
+            } else if (intoNew <= width) {
+                bracketWidth = Math.min(bracketWidth, width - intoNew);
+            } else {
+                meterRegistry.counter("match.polling.phase_brackets", "outcome", "reset").increment();
+                bracketStart = start;
+                bracketWidth = width;
+            }
+        }
+
+        if (bracketWidth <= phaseResolutionMs) {
+            addRefreshEstimate(bracketStart + bracketWidth / 2);
+        }
+    }
+
+    private void addRefreshEstimate(final long refreshedAt) {
+        refreshEstimates[refreshCursor] = refreshedAt;
+        refreshCursor = (refreshCursor + 1) % refreshEstimates.length;
+        refreshCount = Math.min(refreshCount + 1, refreshEstimates.length);
+    }
+
+    // Circular mean of the refresh estimates modulo the interval. Returns -1 unless enough samples agree,
+    // which is also what happens in idle modes where the interval is far longer than the upstream refresh period.
+    private long alignedPhase(final int interval) {
+        if (!phaseAlignmentEnabled || refreshCount < minPhaseSamples) {
+            return -1;
+        }
+
+        double x = 0;
+        double y = 0;
+
+        for (int i = 0; i < refreshCount; i++) {
+            final double angle = 2 * Math.PI * Math.floorMod(refreshEstimates[i], (long) interval) / interval;
+            x += Math.cos(angle);
+            y += Math.sin(angle);
+        }
+
+        final double concentration = Math.hypot(x, y) / refreshCount;
+
+        if (concentration < minPhaseConcentration) {
+            return -1;
+        }
+
+        double meanAngle = Math.atan2(y, x);
+
+        if (meanAngle < 0) {
+            meanAngle += 2 * Math.PI;
+        }
+
+        return Math.floorMod(Math.round(meanAngle / (2 * Math.PI) * interval) + landingMarginMs, (long) interval);
+    }
+}
@@ -0,0 +1,142 @@
+package quest.gekko.spiketracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import quest.gekko.spiketracker.model.match.LiveMatchSnapshot;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+import quest.gekko.spiketracker.util.TimeSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the latest live snapshot, stream links included, in a small gzipped file so a restarted node can serve
+ * something before the database and the first upstream poll are available.
+ * <p>
+ * The update thread only hands over the newest snapshot; writing happens on the scheduler, at most once per
+ * interval and only when the version moved. Each write goes to a temporary file that is then renamed over the
+ * old one, so a crash mid-write leaves the previous snapshot intact.
+ */
+@Slf4j
+@Component
+public class SnapshotFileStore {
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TimeSource timeSource;
+
+    private final boolean enabled;
+    private final Path path;
+
+    private final AtomicReference<LiveMatchSnapshot> pending = new AtomicReference<>();
+    private volatile long writtenVersion = -1;
+
+    public SnapshotFileStore(
+            final ObjectMapper objectMapper,
+            final MeterRegistry meterRegistry,
+            final TimeSource timeSource,
+            @Value("${app.snapshot-file.enabled:false}") final boolean enabled,
+            @Value("${app.snapshot-file.path:snapshots/live_snapshot.json.gz}") final String path) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.timeSource = timeSource;
+        this.enabled = enabled;
+        this.path = Paths.get(path);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reads the last written snapshot, if there is a readable one.
+     */
+    public Optional<StoredSnapshot> load() {
+        if (!enabled || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            final StoredSnapshot stored = objectMapper.readValue(in, StoredSnapshot.class);
+
+            if (stored.matches() == null) {
+                return Optional.empty();
+            }
+
+            log.info("Loaded snapshot file {} (version {}, {} matches)", path, stored.version(), stored.matches().size());
+            return Optional.of(stored);
+        } catch (final IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable snapshot file {}: {}", path, e.getMessage());
+            meterRegistry.counter("snapshot.file", "operation", "load", "status", "failed").increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Queues a snapshot for the next write. Only the newest one is kept.
+     */
+    public void offer(final LiveMatchSnapshot snapshot) {
+        if (enabled) {
+            pending.set(snapshot);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.snapshot-file.write-interval-ms:5000}")
+    public void flush() {
+        final LiveMatchSnapshot snapshot = pending.getAndSet(null);
+
+        if (snapshot == null || snapshot.version() == writtenVersion) {
+            return;
+        }
+
+        write(snapshot);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private synchronized void write(final LiveMatchSnapshot snapshot) {
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                objectMapper.writeValue(out, new StoredSnapshot(snapshot.version(), timeSource.currentTimeMillis(), snapshot.values()));
+            }
+
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            writtenVersion = snapshot.version();
+            meterRegistry.counter("snapshot.file", "operation", "write", "status", "success").increment();
+        } catch (final IOException e) {
+            log.warn("Failed to write snapshot file {}: {}", path, e.getMessage());
+            meterRegistry.counter("snapshot.file", "operation", "write", "status", "failed").increment();
+        }
+    }
+
+    public record StoredSnapshot(long version, long savedAt, List<MatchSegment> matches) {}
+}
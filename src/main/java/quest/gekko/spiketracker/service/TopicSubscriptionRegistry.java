@@ -0,0 +1,90 @@
+package quest.gekko.spiketracker.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live count of STOMP subscriptions per broker destination, kept from the session events Spring publishes after
+ * each accepted SUBSCRIBE, UNSUBSCRIBE and DISCONNECT. Lets {@link LiveMatchPublisher} skip building and sending
+ * messages for topics nobody is listening to.
+ * <p>
+ * Only {@code /topic} destinations are counted; {@code /app} subscriptions are answered once and never routed
+ * through the broker. Subscriptions rejected by the WebSocket security interceptor never produce an event.
+ */
+@Component
+public class TopicSubscriptionRegistry {
+    private static final String BROKER_PREFIX = "/topic/";
+
+    // Session id -> subscription id -> destination, so unsubscribe and disconnect know what to release.
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+
+    public TopicSubscriptionRegistry(final MeterRegistry meterRegistry) {
+        meterRegistry.gauge("websocket.topics.active", counts, Map::size);
+        meterRegistry.gauge("websocket.subscriptions", sessions,
+                map -> map.values().stream().mapToInt(Map::size).sum());
+    }
+
+    @EventListener
+    public void onSubscribe(final SessionSubscribeEvent event) {
+        final StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        final String destination = accessor.getDestination();
+
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null ||
+                destination == null || !destination.startsWith(BROKER_PREFIX)) {
+            return;
+        }
+
+        final String previous = sessions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), destination);
+
+        if (previous != null) {
+            release(previous);
+        }
+
+        counts.merge(destination, 1, Integer::sum);
+    }
+
+    @EventListener
+    public void onUnsubscribe(final SessionUnsubscribeEvent event) {
+        final StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        final Map<String, String> subscriptions = accessor.getSessionId() != null ? sessions.get(accessor.getSessionId()) : null;
+
+        if (subscriptions != null && accessor.getSubscriptionId() != null) {
+            final String destination = subscriptions.remove(accessor.getSubscriptionId());
+
+            if (destination != null) {
+                release(destination);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(final SessionDisconnectEvent event) {
+        final Map<String, String> subscriptions = sessions.remove(event.getSessionId());
+
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    public boolean hasSubscribers(final String destination) {
+        return counts.containsKey(destination);
+    }
+
+    public int getSubscriberCount(final String destination) {
+        return counts.getOrDefault(destination, 0);
+    }
+
+    private void release(final String destination) {
+        counts.computeIfPresent(destination, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,155 @@
+package quest.gekko.spiketracker.service;
+
+import quest.gekko.spiketracker.model.match.MatchScore;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+
+/**
+ * Everything {@link MatchTrackingService} knows about one live match. Instances are only touched from the
+ * match-update thread, so fields are plain and updated in place.
+ */
+final class TrackedMatch {
+    private final String matchId;
+
+    // Segment exactly as upstream sent it; the scraped stream link is kept separately and merged into view.
+    private MatchSegment segment;
+    private String streamLink;
+    private MatchSegment view;
+
+    // Parsed from segment whenever it is replaced, which only happens when something changed.
+    private MatchScore score;
+
+    private int failureCount;
+    private long lastSeenNanos;
+    private long lastSeenAt;
+
+    // Consecutive successful polls this match was absent from. Non-zero means it is suspected to have ended
+    // but has not been finalized yet.
+    private int missedPolls;
+    private long missingSinceNanos;
+
+    // Restored from match_tracking at startup and not yet confirmed by a poll; segment is only partly filled.
+    private boolean rehydrated;
+
+    TrackedMatch(final MatchSegment segment, final long seenAtNanos, final long seenAtMillis) {
+        this.matchId = segment.match_page();
+        this.segment = segment;
+        this.lastSeenNanos = seenAtNanos;
+        this.lastSeenAt = seenAtMillis;
+        this.view = segment;
+        this.score = MatchScore.of(segment);
+
+        if (segment.streamLink() != null && !segment.streamLink().isEmpty()) {
+            this.streamLink = segment.streamLink();
+        }
+    }
+
+    static TrackedMatch rehydrated(final MatchSegment segment, final long nowNanos, final long lastSeenAt) {
+        final TrackedMatch tracked = new TrackedMatch(segment, nowNanos, lastSeenAt);
+        tracked.rehydrated = true;
+        return tracked;
+    }
+
+    boolean isRehydrated() {
+        return rehydrated;
+    }
+
+    String matchId() {
+        return matchId;
+    }
+
+    MatchSegment segment() {
+        return segment;
+    }
+
+    MatchScore score() {
+        return score;
+    }
+
+    String streamLink() {
+        return streamLink;
+    }
+
+    int failureCount() {
+        return failureCount;
+    }
+
+    long lastSeenNanos() {
+        return lastSeenNanos;
+    }
+
+    /**
+     * Wall-clock millis of the last poll that contained this match.
+     */
+    long lastSeenAt() {
+        return lastSeenAt;
+    }
+
+    boolean isSuspectEnded() {
+        return missedPolls > 0;
+    }
+
+    int missedPolls() {
+        return missedPolls;
+    }
+
+    long missingForNanos(final long nowNanos) {
+        return missedPolls > 0 ? nowNanos - missingSinceNanos : 0;
+    }
+
+    /**
+     * The segment as clients see it, with the scraped stream link filled in. Rebuilt only when either part changes.
+     */
+    MatchSegment view() {
+        return view;
+    }
+
+    void update(final MatchSegment newSegment) {
+        rehydrated = false;
+
+        if (segment != newSegment) {
+            segment = newSegment;
+            score = MatchScore.of(newSegment);
+        }
+
+        if (newSegment.streamLink() != null && !newSegment.streamLink().isEmpty()) {
+            streamLink = newSegment.streamLink();
+        }
+
+        rebuildView();
+    }
+
+    void setStreamLink(final String link) {
+        streamLink = link;
+        rebuildView();
+    }
+
+    void markSeen(final long nowNanos, final long nowMillis) {
+        lastSeenNanos = nowNanos;
+        lastSeenAt = nowMillis;
+        failureCount = 0;
+        missedPolls = 0;
+    }
+
+    /**
+     * Notes that a successful poll did not contain this match and returns how many in a row have not.
+     */
+    int recordMiss(final long nowNanos) {
+        if (missedPolls == 0) {
+            missingSinceNanos = nowNanos;
+        }
+
+        return ++missedPolls;
+    }
+
+    void recordFailure() {
+        failureCount++;
+    }
+
+    void resetFailures() {
+        failureCount = 0;
+    }
+
+    private void rebuildView() {
+        view = streamLink == null || streamLink.equals(segment.streamLink()) ? segment : segment.withStreamLink(streamLink);
+    }
+}
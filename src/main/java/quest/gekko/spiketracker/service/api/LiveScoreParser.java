@@ -0,0 +1,233 @@
+package quest.gekko.spiketracker.service.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import quest.gekko.spiketracker.model.match.LiveMatchData;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+import quest.gekko.spiketracker.util.StringPool;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass parser for the live_score payload. Segments are read field by field with Jackson's token API,
+ * validated as they are completed and appended straight to the result, so no intermediate response tree or
+ * filtered copy of the segment list is ever built.
+ */
+@Slf4j
+@Component
+public class LiveScoreParser {
+    private final JsonFactory jsonFactory;
+
+    // Team names, logos, event names and small score values repeat on every poll. Handing out the instance
+    // from the previous poll lets the freshly parsed copy die young and keeps the live segments compact.
+    private final StringPool stringPool;
+
+    public LiveScoreParser(final ObjectMapper objectMapper, final StringPool stringPool) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.stringPool = stringPool;
+    }
+
+    public LiveMatchData parse(final byte[] body) throws IOException {
+        if (body == null || body.length == 0) {
+            log.warn("Received null API response");
+            return new LiveMatchData(404, List.of());
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected live_score response to be a JSON object");
+            }
+
+            LiveMatchData data = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                final JsonToken value = parser.nextToken();
+
+                if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                    data = parseData(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (data == null) {
+                log.warn("API response contains null data field");
+                return new LiveMatchData(500, List.of());
+            }
+
+            return data;
+        } finally {
+            stringPool.nextGeneration();
+        }
+    }
+
+    private LiveMatchData parseData(final JsonParser parser) throws IOException {
+        int status = 0;
+        List<MatchSegment> segments = List.of();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+
+            if ("status".equals(field)) {
+                status = parser.getValueAsInt(0);
+            } else if ("segments".equals(field) && value == JsonToken.START_ARRAY) {
+                segments = parseSegments(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return new LiveMatchData(status, segments);
+    }
+
+    private List<MatchSegment> parseSegments(final JsonParser parser) throws IOException {
+        final List<MatchSegment> segments = new ArrayList<>();
+        int invalid = 0;
+
+        JsonToken token;
+
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                invalid++;
+                continue;
+            }
+
+            final MatchSegment segment = parseSegment(parser);
+
+            if (isValidMatchSegment(segment)) {
+                segments.add(segment);
+            } else {
+                invalid++;
+            }
+        }
+
+        if (invalid > 0) {
+            log.warn("Filtered out {} invalid match segments", invalid);
+        }
+
+        return segments;
+    }
+
+    private MatchSegment parseSegment(final JsonParser parser) throws IOException {
+        String team1 = null, team2 = null, flag1 = null, flag2 = null, team1Logo = null, team2Logo = null;
+        String score1 = null, score2 = null;
+        String team1RoundCt = null, team1RoundT = null, team2RoundCt = null, team2RoundT = null;
+        String mapNumber = null, currentMap = null, timeUntilMatch = null;
+        String matchEvent = null, matchSeries = null, unixTimestamp = null, matchPage = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+
+            if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+
+            switch (field) {
+                case "team1" -> team1 = canonical(parser);
+                case "team2" -> team2 = canonical(parser);
+                case "flag1" -> flag1 = canonical(parser);
+                case "flag2" -> flag2 = canonical(parser);
+                case "team1_logo" -> team1Logo = canonical(parser);
+                case "team2_logo" -> team2Logo = canonical(parser);
+                case "score1" -> score1 = canonical(parser);
+                case "score2" -> score2 = canonical(parser);
+                case "team1_round_ct" -> team1RoundCt = canonical(parser);
+                case "team1_round_t" -> team1RoundT = canonical(parser);
+                case "team2_round_ct" -> team2RoundCt = canonical(parser);
+                case "team2_round_t" -> team2RoundT = canonical(parser);
+                case "map_number" -> mapNumber = canonical(parser);
+                case "current_map" -> currentMap = canonical(parser);
+                case "time_until_match" -> timeUntilMatch = parser.getValueAsString();
+                case "match_event" -> matchEvent = canonical(parser);
+                case "match_series" -> matchSeries = canonical(parser);
+                case "unix_timestamp" -> unixTimestamp = canonical(parser);
+                case "match_page" -> matchPage = canonical(parser);
+                default -> {
+                    // Unknown fields are ignored, matching fail-on-unknown-properties=false
+                }
+            }
+        }
+
+        return new MatchSegment(
+                team1, team2,
+                flag1, flag2,
+                team1Logo, team2Logo,
+                score1, score2,
+                team1RoundCt, team1RoundT,
+                team2RoundCt, team2RoundT,
+                mapNumber, currentMap,
+                timeUntilMatch,
+                matchEvent, matchSeries,
+                unixTimestamp,
+                matchPage,
+                null
+        );
+    }
+
+    private String canonical(final JsonParser parser) throws IOException {
+        return stringPool.canonicalize(parser.getValueAsString());
+    }
+
+    private boolean isValidMatchSegment(final MatchSegment segment) {
+        if (segment.match_page() == null || segment.match_page().isBlank()) {
+            log.debug("Invalid segment: missing match_page");
+            return false;
+        }
+
+        if (segment.team1() == null || segment.team1().isBlank() || segment.team2() == null || segment.team2().isBlank()) {
+            log.debug("Invalid segment: missing team names");
+            return false;
+        }
+
+        if (!isWellFormedUri(segment.match_page())) {
+            log.debug("Invalid segment: malformed match_page URL: {}", segment.match_page());
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Cheap equivalent of {@code URI.create} for the plain http(s) URLs upstream sends. Anything outside the
+     * common character set falls back to the full parser so the accepted inputs stay identical.
+     */
+    static boolean isWellFormedUri(final String value) {
+        if (value.startsWith("https://") || value.startsWith("http://")) {
+            boolean simple = true;
+
+            for (int i = 0; i < value.length() && simple; i++) {
+                simple = isSimpleUriChar(value.charAt(i));
+            }
+
+            if (simple) {
+                return true;
+            }
+        }
+
+        try {
+            URI.create(value);
+            return true;
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isSimpleUriChar(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+                c == '-' || c == '.' || c == '_' || c == '~' || c == '/' || c == ':' ||
+                c == '?' || c == '=' || c == '&' || c == '+' || c == ',' || c == ';';
+    }
+}
@@ -0,0 +1,205 @@
+package quest.gekko.spiketracker.service.api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends every raw live_score body received from upstream to a local file so a whole day of traffic can be
+ * replayed offline. The format is a fixed header followed by {@code [receivedAt epoch millis: long][length: int]
+ * [body bytes]} records, written through a single background thread so the HTTP I/O thread never touches disk.
+ * Disabled unless {@code app.recording.enabled=true}.
+ */
+@Slf4j
+@Component
+public class LiveScoreRecorder {
+    static final int MAGIC = 0x53505231; // "SPR1"
+
+    // Far above any real live_score body; a length beyond it means the file is damaged, not that the body is big.
+    static final int MAX_BODY_BYTES = 32 * 1024 * 1024;
+    private static final int ENTRY_HEADER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final boolean enabled;
+    private final Path path;
+    private final MeterRegistry meterRegistry;
+
+    private ExecutorService writer;
+    private DataOutputStream out;
+
+    public LiveScoreRecorder(
+            final MeterRegistry meterRegistry,
+            @Value("${app.recording.enabled:false}") final boolean enabled,
+            @Value("${app.recording.path:recordings/live_score.rec}") final String path) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.path = Path.of(path);
+
+        if (enabled) {
+            open();
+        }
+    }
+
+    private void open() {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            final boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+
+            out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024));
+
+            if (fresh) {
+                out.writeInt(MAGIC);
+                out.flush();
+            }
+
+            writer = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "live-score-recorder");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            log.info("Recording live_score responses to {}", path.toAbsolutePath());
+        } catch (final IOException e) {
+            throw new IllegalStateException("Unable to open live_score recording at " + path, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a raw response body for appending. Never blocks on disk and never throws.
+     */
+    public void record(final long receivedAt, final byte[] body) {
+        if (!enabled || body == null) {
+            return;
+        }
+
+        try {
+            writer.execute(() -> write(receivedAt, body));
+        } catch (final RejectedExecutionException e) {
+            log.debug("Recorder shut down, dropping live_score body");
+        }
+    }
+
+    private void write(final long receivedAt, final byte[] body) {
+        try {
+            out.writeLong(receivedAt);
+            out.writeInt(body.length);
+            out.write(body);
+            out.flush();
+
+            meterRegistry.counter("vlrgg.recording.entries").increment();
+        } catch (final IOException e) {
+            log.warn("Failed to record live_score body: {}", e.getMessage());
+            meterRegistry.counter("vlrgg.recording.errors").increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+
+        writer.shutdown();
+
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Recorder did not drain within 5 seconds");
+            }
+
+            out.close();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final IOException e) {
+            log.warn("Failed to close live_score recording: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sequential reader for files written by {@link LiveScoreRecorder}.
+     */
+    public static final class Reader implements Closeable {
+        private final Path path;
+        private final DataInputStream in;
+
+        // Bytes left after the current position, so a length field is checked before anything is allocated.
+        private long remaining;
+
+        public Reader(final Path path) throws IOException {
+            this.path = path;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024));
+
+            try {
+                this.remaining = Files.size(path) - Integer.BYTES;
+
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("Not a live_score recording: " + path);
+                }
+            } catch (final IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Returns the next entry, or {@code null} at the end of the file. A record cut short by a crash mid-write,
+         * or one whose length cannot be right, is treated as the end of the file.
+         */
+        public Entry next() throws IOException {
+            if (remaining < ENTRY_HEADER_BYTES) {
+                return null;
+            }
+
+            try {
+                final long receivedAt = in.readLong();
+                final int length = in.readInt();
+                remaining -= ENTRY_HEADER_BYTES;
+
+                if (length < 0 || length > MAX_BODY_BYTES || length > remaining) {
+                    log.warn("Stopping at corrupt live_score record in {} (length {}, {} bytes left)",
+                            path, length, remaining);
+                    remaining = 0;
+                    return null;
+                }
+
+                final byte[] body = new byte[length];
+                in.readFully(body);
+                remaining -= length;
+                return new Entry(receivedAt, body);
+            } catch (final EOFException e) {
+                remaining = 0;
+                return null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    public record Entry(long receivedAt, byte[] body) {}
+}
@@ -2,76 +2,178 @@ package quest.gekko.spiketracker.service.api;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
 import quest.gekko.spiketracker.config.ApplicationProperties;
-import quest.gekko.spiketracker.model.api.VlrggApiResponse;
+import quest.gekko.spiketracker.model.api.ApiFetchResult;
 import quest.gekko.spiketracker.model.match.LiveMatchData;
-import quest.gekko.spiketracker.model.match.MatchSegment;
+import quest.gekko.spiketracker.util.CircuitBreaker;
+import quest.gekko.spiketracker.util.TimeSource;
 
 import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 public class VlrggMatchApiClient {
-    private final RestTemplate restTemplate;
+    private static final String LIVE_SCORE_PATH = "/match?q=live_score";
+    private static final String UPCOMING_PATH = "/match?q=upcoming";
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final LiveScoreParser liveScoreParser;
+    private final LiveScoreRecorder liveScoreRecorder;
     private final ApplicationProperties.VlrggApi properties;
 
-    private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
-    private final AtomicLong lastFailureTime = new AtomicLong(0);
+    private final CircuitBreaker circuitBreaker;
 
     private final int maxConsecutiveFailures;
-    private final long circuitBreakerTimeoutMs;
     private final int connectionTimeoutMs;
     private final int readTimeoutMs;
 
+    private final boolean hedgingEnabled;
+    private final double hedgePercentile;
+    private final double hedgeBudgetPercent;
+    private final long hedgeMinSamples;
+    private final long hedgeMinDelayMs;
+
+    private final AtomicLong totalCalls = new AtomicLong(0);
+    private final AtomicLong hedgedCalls = new AtomicLong(0);
+
     private final MeterRegistry meterRegistry;
+    private final TimeSource timeSource;
     private final Timer apiResponseTimer;
+    private final Timer upcomingResponseTimer;
 
-    private LocalDateTime lastSuccessfulCall = LocalDateTime.now();
-    private String lastErrorMessage = null;
+    private volatile LocalDateTime lastSuccessfulCall;
+    private volatile String lastErrorMessage = null;
+
+    // Validators from the last successfully parsed live_score response. Replaced as a whole so
+    // concurrent callers never see an ETag from one response paired with the digest of another.
+    private volatile ResponseValidators validators = ResponseValidators.NONE;
+
+    // The live_score request currently on the wire, shared by every caller that arrives before it completes.
+    private final AtomicReference<CompletableFuture<ApiFetchResult>> inFlight = new AtomicReference<>();
 
     public VlrggMatchApiClient(
-            final RestTemplateBuilder restTemplateBuilder,
+            final LiveScoreParser liveScoreParser,
+            final LiveScoreRecorder liveScoreRecorder,
             final ApplicationProperties.VlrggApi properties,
             final MeterRegistry meterRegistry,
+            final TimeSource timeSource,
             @Value("${app.api.max-consecutive-failures:5}") final int maxConsecutiveFailures,
             @Value("${app.api.circuit-breaker-timeout-ms:60000}") final long circuitBreakerTimeoutMs,
+            @Value("${app.api.circuit-breaker-half-open-probes:1}") final int circuitBreakerHalfOpenProbes,
             @Value("${app.api.connection-timeout-ms:10000}") final int connectionTimeoutMs,
-            @Value("${app.api.read-timeout-ms:15000}") final int readTimeoutMs) {
-
+            @Value("${app.api.read-timeout-ms:15000}") final int readTimeoutMs,
+            @Value("${app.api.max-connections:10}") final int maxConnections,
+            @Value("${app.api.hedging.enabled:true}") final boolean hedgingEnabled,
+            @Value("${app.api.hedging.percentile:0.95}") final double hedgePercentile,
+            @Value("${app.api.hedging.budget-percent:10}") final double hedgeBudgetPercent,
+            @Value("${app.api.hedging.min-samples:20}") final long hedgeMinSamples,
+            @Value("${app.api.hedging.min-delay-ms:250}") final long hedgeMinDelayMs) {
+
+        this.liveScoreParser = liveScoreParser;
+        this.liveScoreRecorder = liveScoreRecorder;
         this.properties = properties;
         this.meterRegistry = meterRegistry;
+        this.timeSource = timeSource;
+        this.lastSuccessfulCall = timeSource.localDateTime();
         this.maxConsecutiveFailures = maxConsecutiveFailures;
-        this.circuitBreakerTimeoutMs = circuitBreakerTimeoutMs;
+        this.circuitBreaker = new CircuitBreaker("vlrgg-api", maxConsecutiveFailures, circuitBreakerTimeoutMs,
+                circuitBreakerHalfOpenProbes, meterRegistry);
         this.connectionTimeoutMs = connectionTimeoutMs;
         this.readTimeoutMs = readTimeoutMs;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeBudgetPercent = hedgeBudgetPercent;
+        this.hedgeMinSamples = hedgeMinSamples;
+        this.hedgeMinDelayMs = hedgeMinDelayMs;
 
-        this.restTemplate = restTemplateBuilder
-                .setConnectTimeout(Duration.ofMillis(connectionTimeoutMs))
-                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
-                .build();
+        this.httpClient = createHttpClient(maxConnections);
 
         this.apiResponseTimer = Timer.builder("vlrgg.api.response.time")
                 .description("VLR.gg API response time")
+                .publishPercentiles(hedgePercentile)
+                .distributionStatisticExpiry(Duration.ofMinutes(10))
+                .register(meterRegistry);
+
+        this.upcomingResponseTimer = Timer.builder("vlrgg.api.upcoming.response.time")
+                .description("VLR.gg upcoming matches API response time")
                 .register(meterRegistry);
     }
 
+    private CloseableHttpAsyncClient createHttpClient(final int maxConnections) {
+        final PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectionTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                        .build())
+                .build();
+
+        return HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setIoThreadCount(1)
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(60))
+                // The circuit breaker and rate limiter decide when to try again; a silent retry would hide a 429
+                // from them and double the load on an upstream that is already pushing back.
+                .disableAutomaticRetries()
+                .build();
+    }
+
     @PostConstruct
     public void validateConfiguration() {
         if (properties.baseUrl() == null || properties.baseUrl().trim().isEmpty()) {
@@ -84,142 +186,374 @@ public class VlrggMatchApiClient {
             throw new IllegalStateException("Invalid VLR.gg API base URL: " + properties.baseUrl(), e);
         }
 
+        httpClient.start();
         log.info("VLR.gg API client configured with base URL: {}", properties.baseUrl());
     }
 
-    public LiveMatchData getLiveMatchData() {
-        if (isCircuitBreakerOpen()) {
+    @PreDestroy
+    public void shutdown() {
+        httpClient.close(CloseMode.GRACEFUL);
+        log.info("VLR.gg API client closed");
+    }
+
+    /**
+     * Blocking variant of {@link #fetchLiveMatchDataAsync()} for callers that are not on the polling path.
+     */
+    public ApiFetchResult fetchLiveMatchData() {
+        return fetchLiveMatchDataAsync().join();
+    }
+
+    /**
+     * Fetches the live_score feed, skipping parsing entirely when upstream reports the payload as unchanged.
+     * Conditional headers are sent when the previous response carried an ETag or Last-Modified, and the raw
+     * body digest is compared as a fallback since the upstream API does not always emit validators.
+     * <p>
+     * Callers arriving while a request is already in flight receive that request's future instead of issuing
+     * their own. The returned future never completes exceptionally; failures are reported as
+     * {@link ApiFetchResult#failed()}.
+     */
+    public CompletableFuture<ApiFetchResult> fetchLiveMatchDataAsync() {
+        while (true) {
+            final CompletableFuture<ApiFetchResult> existing = inFlight.get();
+
+            if (existing != null) {
+                meterRegistry.counter("vlrgg.api.coalesced").increment();
+                log.debug("Joining in-flight live_score request");
+                return existing;
+            }
+
+            final CompletableFuture<ApiFetchResult> created = new CompletableFuture<>();
+
+            if (inFlight.compareAndSet(null, created)) {
+                created.whenComplete((result, throwable) -> inFlight.compareAndSet(created, null));
+                startLiveScoreRequest(created);
+                return created;
+            }
+        }
+    }
+
+    private void startLiveScoreRequest(final CompletableFuture<ApiFetchResult> result) {
+        if (!circuitBreaker.tryAcquirePermission()) {
             log.warn("Circuit breaker is open, skipping API call");
-            return null;
+            result.complete(ApiFetchResult.failed());
+            return;
         }
 
-        final Timer.Sample sample = Timer.start();
+        meterRegistry.counter("vlrgg.api.calls").increment();
+        totalCalls.incrementAndGet();
 
-        try {
-            meterRegistry.counter("vlrgg.api.calls").increment();
+        final String url = properties.baseUrl() + LIVE_SCORE_PATH;
+        log.debug("Making API call to: {}", url);
 
-            final String url = properties.baseUrl() + "/match?q=live_score";
-            log.debug("Making API call to: {}", url);
+        final ResponseValidators current = validators;
 
-            final ResponseEntity<VlrggApiResponse> response = restTemplate.getForEntity(url, VlrggApiResponse.class);
+        executeHedged(() -> current.applyTo(SimpleRequestBuilder.get(url)).build())
+                .whenComplete((response, throwable) -> {
+                    if (throwable == null) {
+                        result.complete(handleLiveScoreResponse(response, current));
+                        return;
+                    }
 
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                throw new HttpServerErrorException(response.getStatusCode(),
-                        "API returned non-successful status: " + response.getStatusCode());
-            }
+                    final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause() : throwable;
 
-            final VlrggApiResponse apiResponse = response.getBody();
-            final LiveMatchData data = validateAndExtractData(apiResponse);
+                    if (cause instanceof CancellationException) {
+                        log.debug("live_score request cancelled");
+                    } else if (cause instanceof Exception exception) {
+                        handleNetworkError(exception);
+                    } else {
+                        handleGenericError(new IllegalStateException(cause));
+                    }
 
-            // Reset circuit breaker on success
-            onApiCallSuccess();
+                    result.complete(ApiFetchResult.failed());
+                });
+    }
 
-            log.debug("Successfully retrieved {} match segments", data != null && data.segments() != null ? data.segments().size() : 0);
-            return data;
-        } catch (final HttpClientErrorException e) {
-            handleClientError(e);
-            return null;
-        } catch (final HttpServerErrorException e) {
-            handleServerError(e);
-            return null;
-        } catch (final ResourceAccessException e) {
-            handleNetworkError(e);
-            return null;
-        } catch (final Exception e) {
-            handleGenericError(e);
-            return null;
-        } finally {
-            sample.stop(apiResponseTimer);
-        }
+    /**
+     * Fetches the upcoming-matches feed. It is polled rarely and is not on the score update path, so it skips
+     * change detection and hedging and its failures do not count towards the circuit breaker.
+     */
+    public CompletableFuture<ApiFetchResult> fetchUpcomingMatchesAsync() {
+        final String url = properties.baseUrl() + UPCOMING_PATH;
+        log.debug("Making API call to: {}", url);
+        meterRegistry.counter("vlrgg.api.upcoming.calls").increment();
+
+        return execute(SimpleRequestBuilder.get(url).build(), upcomingResponseTimer)
+                .thenApply(response -> {
+                    if (response.getCode() < 200 || response.getCode() >= 300) {
+                        log.warn("Upcoming matches request returned status {}", response.getCode());
+                        meterRegistry.counter("vlrgg.api.upcoming.errors", "type", "status").increment();
+                        return ApiFetchResult.failed();
+                    }
+
+                    try {
+                        return ApiFetchResult.updated(liveScoreParser.parse(response.getBodyBytes()));
+                    } catch (final Exception e) {
+                        log.warn("Failed to parse upcoming matches: {}", e.getMessage());
+                        meterRegistry.counter("vlrgg.api.upcoming.errors", "type", "parse").increment();
+                        return ApiFetchResult.failed();
+                    }
+                })
+                .exceptionally(throwable -> {
+                    log.warn("Upcoming matches request failed: {}", throwable.getMessage());
+                    meterRegistry.counter("vlrgg.api.upcoming.errors", "type", "network").increment();
+                    return ApiFetchResult.failed();
+                });
     }
 
-    private LiveMatchData validateAndExtractData(final VlrggApiResponse apiResponse) {
-        if (apiResponse == null) {
-            log.warn("Received null API response");
-            return new LiveMatchData(404, List.of());
+    /**
+     * Sends the request and, if it has not answered within the tracked latency percentile, sends an identical
+     * second one. Whichever attempt produces an HTTP response first wins and the other is cancelled; the call
+     * only fails if every attempt fails. Hedges are limited to a share of total calls so a slow upstream never
+     * sees more than a bounded amount of extra load from us.
+     */
+    private CompletableFuture<SimpleHttpResponse> executeHedged(final Supplier<SimpleHttpRequest> requestFactory) {
+        final CompletableFuture<SimpleHttpResponse> primary = execute(requestFactory.get(), apiResponseTimer);
+        final long hedgeDelayMs = getHedgeDelayMs();
+
+        if (hedgeDelayMs < 0) {
+            return primary;
         }
 
-        final LiveMatchData data = apiResponse.data();
+        final CompletableFuture<SimpleHttpResponse> winner = new CompletableFuture<>();
+        final List<CompletableFuture<SimpleHttpResponse>> attempts = new CopyOnWriteArrayList<>();
+        final AtomicInteger outstanding = new AtomicInteger(1);
+        final AtomicBoolean settled = new AtomicBoolean(false);
+
+        // Losers are cancelled and the outcome counted before the winner completes, so anyone waiting on the
+        // call already sees the attempts settled.
+        final Function<Boolean, BiConsumer<SimpleHttpResponse, Throwable>> onAttemptComplete =
+                hedged -> (response, throwable) -> {
+                    if (throwable != null) {
+                        if (outstanding.decrementAndGet() == 0) {
+                            winner.completeExceptionally(throwable);
+                        }
+
+                        return;
+                    }
+
+                    if (!settled.compareAndSet(false, true)) {
+                        return;
+                    }
+
+                    if (hedged) {
+                        meterRegistry.counter("vlrgg.api.hedges", "outcome", "won").increment();
+                    }
+
+                    cancelOutstanding(attempts);
+                    winner.complete(response);
+                };
+
+        attempts.add(primary);
+        primary.whenComplete(onAttemptComplete.apply(false));
+
+        CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (winner.isDone() || !tryAcquireHedgeBudget()) {
+                return;
+            }
 
-        if (data == null) {
-            log.warn("API response contains null data field");
-            return new LiveMatchData(500, List.of());
-        }
+            log.debug("live_score request exceeded {}ms, sending hedged request", hedgeDelayMs);
+            outstanding.incrementAndGet();
 
-        if (data.segments() != null) {
-            final List<MatchSegment> validSegments = data.segments().stream()
-                    .filter(this::isValidMatchSegment)
-                    .toList();
+            final CompletableFuture<SimpleHttpResponse> hedge = execute(requestFactory.get(), apiResponseTimer);
+            attempts.add(hedge);
+            hedge.whenComplete(onAttemptComplete.apply(true));
 
-            if (validSegments.size() != data.segments().size()) {
-                log.warn("Filtered out {} invalid match segments", data.segments().size() - validSegments.size());
+            if (settled.get()) {
+                cancelOutstanding(attempts);
             }
+        });
 
-            return new LiveMatchData(data.status(), validSegments);
+        // Covers a caller cancelling the call itself.
+        winner.whenComplete((response, throwable) -> cancelOutstanding(attempts));
+
+        return winner;
+    }
+
+    private void cancelOutstanding(final List<CompletableFuture<SimpleHttpResponse>> attempts) {
+        attempts.forEach(attempt -> {
+            if (!attempt.isDone() && attempt.cancel(true)) {
+                meterRegistry.counter("vlrgg.api.hedges", "outcome", "cancelled").increment();
+            }
+        });
+    }
+
+    private CompletableFuture<SimpleHttpResponse> execute(final SimpleHttpRequest request, final Timer timer) {
+        final CompletableFuture<SimpleHttpResponse> response = new CompletableFuture<>();
+        final Timer.Sample sample = Timer.start();
+
+        try {
+            final Future<SimpleHttpResponse> exchange = httpClient.execute(request, new FutureCallback<>() {
+                @Override
+                public void completed(final SimpleHttpResponse result) {
+                    sample.stop(timer);
+                    response.complete(result);
+                }
+
+                @Override
+                public void failed(final Exception e) {
+                    sample.stop(timer);
+                    response.completeExceptionally(e);
+                }
+
+                @Override
+                public void cancelled() {
+                    response.cancel(false);
+                }
+            });
+
+            // Losing hedge attempts are cancelled through the future, which must also abort the exchange.
+            response.whenComplete((result, throwable) -> {
+                if (response.isCancelled()) {
+                    exchange.cancel(true);
+                }
+            });
+        } catch (final Exception e) {
+            response.completeExceptionally(e);
         }
 
-        return data;
+        return response;
     }
 
-    private boolean isValidMatchSegment(final MatchSegment segment) {
-        if (segment == null) {
-            return false;
+    private long getHedgeDelayMs() {
+        if (!hedgingEnabled || apiResponseTimer.count() < hedgeMinSamples) {
+            return -1;
         }
 
-        if (segment.match_page() == null || segment.match_page().trim().isEmpty()) {
-            log.debug("Invalid segment: missing match_page");
-            return false;
+        for (ValueAtPercentile value : apiResponseTimer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == hedgePercentile) {
+                final long delayMs = Math.max(hedgeMinDelayMs, (long) value.value(TimeUnit.MILLISECONDS));
+                return delayMs < readTimeoutMs ? delayMs : -1;
+            }
         }
 
-        if (segment.team1() == null || segment.team1().trim().isEmpty() || segment.team2() == null || segment.team2().trim().isEmpty()) {
-            log.debug("Invalid segment: missing team names");
-            return false;
+        return -1;
+    }
+
+    private boolean tryAcquireHedgeBudget() {
+        final long calls = totalCalls.get();
+
+        while (true) {
+            final long hedges = hedgedCalls.get();
+
+            if ((hedges + 1) * 100.0 > calls * hedgeBudgetPercent) {
+                meterRegistry.counter("vlrgg.api.hedges", "outcome", "budget_exhausted").increment();
+                return false;
+            }
+
+            if (hedgedCalls.compareAndSet(hedges, hedges + 1)) {
+                meterRegistry.counter("vlrgg.api.hedges", "outcome", "sent").increment();
+                return true;
+            }
         }
+    }
 
+    private ApiFetchResult handleLiveScoreResponse(final SimpleHttpResponse response, final ResponseValidators current) {
         try {
-            URI.create(segment.match_page());
-        } catch (final IllegalArgumentException e) {
-            log.debug("Invalid segment: malformed match_page URL: {}", segment.match_page());
-            return false;
+            final int status = response.getCode();
+            final long upstreamAgeMs = upstreamAgeMs(response);
+
+            if (status == HttpStatus.SC_NOT_MODIFIED) {
+                onApiCallSuccess();
+                meterRegistry.counter("vlrgg.api.responses", "result", "not_modified").increment();
+                log.debug("Upstream reported live_score as not modified");
+                return ApiFetchResult.notModified().withUpstreamAge(upstreamAgeMs);
+            }
+
+            if (status >= 400 && status < 500) {
+                handleClientError(status, response.getReasonPhrase());
+                return ApiFetchResult.failed();
+            }
+
+            if (status < 200 || status >= 300) {
+                handleServerError(status, "API returned non-successful status: " + status);
+                return ApiFetchResult.failed();
+            }
+
+            final byte[] body = response.getBodyBytes() != null ? response.getBodyBytes() : new byte[0];
+            liveScoreRecorder.record(timeSource.currentTimeMillis(), body);
+
+            final byte[] digest = digest(body);
+
+            if (Arrays.equals(digest, current.bodyDigest())) {
+                onApiCallSuccess();
+                meterRegistry.counter("vlrgg.api.responses", "result", "unchanged_body").increment();
+                log.debug("live_score body unchanged since last poll, skipping parse");
+                return ApiFetchResult.notModified().withUpstreamAge(upstreamAgeMs);
+            }
+
+            final LiveMatchData data = liveScoreParser.parse(body);
+
+            validators = new ResponseValidators(
+                    headerValue(response, HttpHeaders.ETAG),
+                    headerValue(response, HttpHeaders.LAST_MODIFIED),
+                    digest
+            );
+
+            // Reset circuit breaker on success
+            onApiCallSuccess();
+            meterRegistry.counter("vlrgg.api.responses", "result", "updated").increment();
+
+            log.debug("Successfully retrieved {} match segments", data.segments() != null ? data.segments().size() : 0);
+            return ApiFetchResult.updated(data).withUpstreamAge(upstreamAgeMs);
+        } catch (final Exception e) {
+            handleGenericError(e);
+            return ApiFetchResult.failed();
         }
+    }
 
-        return true;
+    /**
+     * Forgets the validators of the last response so the next fetch is parsed and processed in full.
+     */
+    public void resetChangeDetection() {
+        validators = ResponseValidators.NONE;
+        log.debug("Change detection state reset");
     }
 
-    private boolean isCircuitBreakerOpen() {
-        if (consecutiveFailures.get() < maxConsecutiveFailures) {
-            return false;
-        }
+    private static String headerValue(final SimpleHttpResponse response, final String name) {
+        final Header header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
 
-        final long timeSinceLastFailure = System.currentTimeMillis() - lastFailureTime.get();
-        final boolean shouldRetry = timeSinceLastFailure > circuitBreakerTimeoutMs;
+    private static long upstreamAgeMs(final SimpleHttpResponse response) {
+        final String age = headerValue(response, HttpHeaders.AGE);
 
-        if (shouldRetry) {
-            log.info("Circuit breaker timeout expired, attempting to reset");
-            consecutiveFailures.set(maxConsecutiveFailures - 1); // Allow one retry
+        if (age == null) {
+            return ApiFetchResult.UNKNOWN_AGE;
+        }
+
+        try {
+            return Math.max(0, Long.parseLong(age.trim())) * 1000;
+        } catch (final NumberFormatException e) {
+            return ApiFetchResult.UNKNOWN_AGE;
         }
+    }
 
-        return !shouldRetry;
+    private static byte[] digest(final byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     private void onApiCallSuccess() {
-        consecutiveFailures.set(0);
-        lastSuccessfulCall = LocalDateTime.now();
+        circuitBreaker.onSuccess();
+        lastSuccessfulCall = timeSource.localDateTime();
         lastErrorMessage = null;
         log.debug("API call successful, circuit breaker reset");
     }
 
     private void onApiCallFailure(final String errorMessage) {
-        final int failures = consecutiveFailures.incrementAndGet();
-        lastFailureTime.set(System.currentTimeMillis());
+        circuitBreaker.onFailure();
         lastErrorMessage = errorMessage;
 
         meterRegistry.counter("vlrgg.api.errors", "type", getErrorType(errorMessage)).increment();
 
-        if (failures >= maxConsecutiveFailures) {
-            log.error("Circuit breaker opened after {} consecutive failures. Last error: {}", failures, errorMessage);
+        if (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+            log.error("Circuit breaker open after repeated failures. Last error: {}", errorMessage);
         } else {
-            log.warn("API call failed ({}/{}): {}", failures, maxConsecutiveFailures, errorMessage);
+            log.warn("API call failed ({}/{}): {}", circuitBreaker.getConsecutiveFailures(), maxConsecutiveFailures, errorMessage);
         }
     }
 
@@ -249,26 +583,26 @@ public class VlrggMatchApiClient {
         return "other";
     }
 
-    private void handleClientError(final HttpClientErrorException e) {
-        final String message = String.format("Client error: %s - %s", e.getStatusCode(), e.getMessage());
+    private void handleClientError(final int status, final String reason) {
+        final String message = String.format("Client error: %d - %s", status, reason);
         onApiCallFailure(message);
 
-        if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+        if (status == HttpStatus.SC_NOT_FOUND) {
             log.warn("API endpoint not found - check VLR.gg API documentation");
-        } else if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+        } else if (status == HttpStatus.SC_TOO_MANY_REQUESTS) {
             log.warn("Rate limited by VLR.gg API");
         } else {
             log.error("Client error calling VLR.gg API: {}", message);
         }
     }
 
-    private void handleServerError(final HttpServerErrorException e) {
-        final String message = String.format("Server error: %s - %s", e.getStatusCode(), e.getMessage());
+    private void handleServerError(final int status, final String reason) {
+        final String message = String.format("Server error: %d - %s", status, reason);
         onApiCallFailure(message);
         log.error("Server error from VLR.gg API: {}", message);
     }
 
-    private void handleNetworkError(final ResourceAccessException e) {
+    private void handleNetworkError(final Exception e) {
         final String message = "Network error: " + e.getMessage();
         onApiCallFailure(message);
         log.error("Network error calling VLR.gg API: {}", message);
@@ -281,34 +615,54 @@ public class VlrggMatchApiClient {
     }
 
     public boolean isHealthy() {
-        return consecutiveFailures.get() < maxConsecutiveFailures;
+        return circuitBreaker.getState() == CircuitBreaker.State.CLOSED;
     }
 
     public Map<String, Object> getHealthDetails() {
         return Map.of(
                 "isHealthy", isHealthy(),
-                "consecutiveFailures", consecutiveFailures.get(),
+                "consecutiveFailures", circuitBreaker.getConsecutiveFailures(),
                 "maxConsecutiveFailures", maxConsecutiveFailures,
                 "lastSuccessfulCall", lastSuccessfulCall,
                 "lastErrorMessage", lastErrorMessage != null ? lastErrorMessage : "none",
-                "circuitBreakerOpen", isCircuitBreakerOpen()
+                "circuitBreakerOpen", circuitBreaker.getState() == CircuitBreaker.State.OPEN,
+                "circuitBreakerState", circuitBreaker.getState().name()
         );
     }
 
     public void resetCircuitBreaker() {
-        consecutiveFailures.set(0);
+        circuitBreaker.reset();
         lastErrorMessage = null;
         log.info("Circuit breaker manually reset");
     }
 
     public boolean testConnection() {
         try {
-            String url = properties.baseUrl() + "/match?q=live_score";
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            return response.getStatusCode().is2xxSuccessful();
+            final SimpleHttpRequest request = SimpleRequestBuilder.get(properties.baseUrl() + LIVE_SCORE_PATH).build();
+            final SimpleHttpResponse response = httpClient.execute(request, null).get(readTimeoutMs, TimeUnit.MILLISECONDS);
+            return response.getCode() >= 200 && response.getCode() < 300;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         } catch (Exception e) {
             log.debug("Connection test failed: {}", e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private record ResponseValidators(String etag, String lastModified, byte[] bodyDigest) {
+        private static final ResponseValidators NONE = new ResponseValidators(null, null, null);
+
+        private SimpleRequestBuilder applyTo(final SimpleRequestBuilder builder) {
+            if (etag != null && !etag.isEmpty()) {
+                builder.setHeader(HttpHeaders.IF_NONE_MATCH, etag);
+            }
+
+            if (lastModified != null && !lastModified.isEmpty()) {
+                builder.setHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+
+            return builder;
+        }
+    }
+}
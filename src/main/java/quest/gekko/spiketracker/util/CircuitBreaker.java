@@ -0,0 +1,266 @@
+package quest.gekko.spiketracker.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CLOSED / OPEN / HALF_OPEN circuit breaker whose whole state lives in one {@link AtomicLong}, so every decision
+ * is a single compare-and-set and concurrent callers can never disagree about which of them got a probe.
+ * <p>
+ * Word layout, high to low: 2 bits state, 11 bits half-open successes, 11 bits failures (CLOSED) or issued
+ * probes (HALF_OPEN), 40 bits milliseconds since this breaker was created at which the state was entered.
+ * <p>
+ * A permit taken in HALF_OPEN must be followed by {@link #onSuccess()} or {@link #onFailure()}. If the probes are
+ * abandoned without an outcome, a fresh set is issued once another open timeout has passed.
+ */
+@Slf4j
+public class CircuitBreaker {
+    private static final int STATE_SHIFT = 62;
+    private static final int SUCCESS_SHIFT = 51;
+    private static final int COUNT_SHIFT = 40;
+    private static final long FIELD_MASK = (1L << 11) - 1;
+    private static final long TIME_MASK = (1L << 40) - 1;
+
+    private static final State[] STATES = State.values();
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openTimeoutMs;
+    private final int permittedHalfOpenCalls;
+
+    private final long epochNanos = System.nanoTime();
+    private final AtomicLong state = new AtomicLong(pack(State.CLOSED, 0, 0, 0));
+
+    private final Map<State, Timer> timeInState = new EnumMap<>(State.class);
+    private final MeterRegistry meterRegistry;
+
+    public CircuitBreaker(final String name, final int failureThreshold, final long openTimeoutMs,
+                          final int permittedHalfOpenCalls, final MeterRegistry meterRegistry) {
+        if (failureThreshold < 1 || failureThreshold > FIELD_MASK) {
+            throw new IllegalArgumentException("failureThreshold must be between 1 and " + FIELD_MASK);
+        }
+
+        if (permittedHalfOpenCalls < 1 || permittedHalfOpenCalls > FIELD_MASK) {
+            throw new IllegalArgumentException("permittedHalfOpenCalls must be between 1 and " + FIELD_MASK);
+        }
+
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openTimeoutMs = openTimeoutMs;
+        this.permittedHalfOpenCalls = permittedHalfOpenCalls;
+        this.meterRegistry = meterRegistry;
+
+        for (final State value : State.values()) {
+            timeInState.put(value, Timer.builder("circuit.breaker.state.duration")
+                    .description("Time spent in a circuit breaker state before leaving it")
+                    .tag("name", name)
+                    .tag("state", value.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+
+        Gauge.builder("circuit.breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("Circuit breaker state (0 = closed, 1 = open, 2 = half open)")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether a call may go ahead. OPEN turns into HALF_OPEN once the timeout has passed, after which only
+     * the configured number of probes is let through until their outcomes decide the next state.
+     */
+    public boolean tryAcquirePermission() {
+        while (true) {
+            final long current = state.get();
+            final State currentState = stateOf(current);
+
+            if (currentState == State.CLOSED) {
+                return true;
+            }
+
+            final long now = nowMs();
+            final boolean timedOut = now - enteredAt(current) >= openTimeoutMs;
+
+            if (currentState == State.OPEN) {
+                if (!timedOut) {
+                    return false;
+                }
+
+                if (transition(current, pack(State.HALF_OPEN, 0, 1, now))) {
+                    return true;
+                }
+
+                continue;
+            }
+
+            final long issued = countOf(current);
+
+            if (issued < permittedHalfOpenCalls) {
+                if (state.compareAndSet(current, pack(State.HALF_OPEN, successesOf(current), issued + 1, enteredAt(current)))) {
+                    return true;
+                }
+
+                continue;
+            }
+
+            if (!timedOut) {
+                return false;
+            }
+
+            // Every probe was taken but none reported back in time; start a new round.
+            if (transition(current, pack(State.HALF_OPEN, 0, 1, now))) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess() {
+        while (true) {
+            final long current = state.get();
+
+            switch (stateOf(current)) {
+                case CLOSED -> {
+                    if (countOf(current) == 0 || state.compareAndSet(current, pack(State.CLOSED, 0, 0, enteredAt(current)))) {
+                        return;
+                    }
+                }
+                case HALF_OPEN -> {
+                    final long successes = successesOf(current) + 1;
+
+                    if (successes >= permittedHalfOpenCalls) {
+                        if (transition(current, pack(State.CLOSED, 0, 0, nowMs()))) {
+                            return;
+                        }
+                    } else if (state.compareAndSet(current, pack(State.HALF_OPEN, successes, countOf(current), enteredAt(current)))) {
+                        return;
+                    }
+                }
+                case OPEN -> {
+                    // A response to a request sent before the breaker opened says nothing about recovery.
+                    return;
+                }
+            }
+        }
+    }
+
+    public void onFailure() {
+        while (true) {
+            final long current = state.get();
+            final long now = nowMs();
+
+            switch (stateOf(current)) {
+                case CLOSED -> {
+                    final long failures = countOf(current) + 1;
+
+                    if (failures >= failureThreshold) {
+                        if (transition(current, pack(State.OPEN, 0, 0, now))) {
+                            return;
+                        }
+                    } else if (state.compareAndSet(current, pack(State.CLOSED, 0, failures, enteredAt(current)))) {
+                        return;
+                    }
+                }
+                case HALF_OPEN -> {
+                    if (transition(current, pack(State.OPEN, 0, 0, now))) {
+                        return;
+                    }
+                }
+                case OPEN -> {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Forces the breaker back to CLOSED with no recorded failures.
+     */
+    public void reset() {
+        while (true) {
+            final long current = state.get();
+
+            if (stateOf(current) == State.CLOSED) {
+                if (state.compareAndSet(current, pack(State.CLOSED, 0, 0, enteredAt(current)))) {
+                    return;
+                }
+            } else if (transition(current, pack(State.CLOSED, 0, 0, nowMs()))) {
+                return;
+            }
+        }
+    }
+
+    public State getState() {
+        return stateOf(state.get());
+    }
+
+    public int getConsecutiveFailures() {
+        final long current = state.get();
+        return stateOf(current) == State.CLOSED ? (int) countOf(current) : failureThreshold;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private boolean transition(final long current, final long next) {
+        if (!state.compareAndSet(current, next)) {
+            return false;
+        }
+
+        final State from = stateOf(current);
+        final State to = stateOf(next);
+        timeInState.get(from).record(Math.max(0, enteredAt(next) - enteredAt(current)), TimeUnit.MILLISECONDS);
+        Counter.builder("circuit.breaker.transitions")
+                .tag("name", name)
+                .tag("from", from.name().toLowerCase())
+                .tag("to", to.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+
+        if (to == State.OPEN) {
+            log.warn("Circuit breaker '{}' opened", name);
+        } else {
+            log.info("Circuit breaker '{}' transitioned from {} to {}", name, from, to);
+        }
+
+        return true;
+    }
+
+    private long nowMs() {
+        return ((System.nanoTime() - epochNanos) / 1_000_000) & TIME_MASK;
+    }
+
+    private static long pack(final State state, final long successes, final long count, final long enteredAt) {
+        return ((long) state.ordinal() << STATE_SHIFT)
+                | ((successes & FIELD_MASK) << SUCCESS_SHIFT)
+                | ((count & FIELD_MASK) << COUNT_SHIFT)
+                | (enteredAt & TIME_MASK);
+    }
+
+    private static State stateOf(final long word) {
+        return STATES[(int) (word >>> STATE_SHIFT)];
+    }
+
+    private static long successesOf(final long word) {
+        return (word >>> SUCCESS_SHIFT) & FIELD_MASK;
+    }
+
+    private static long countOf(final long word) {
+        return (word >>> COUNT_SHIFT) & FIELD_MASK;
+    }
+
+    private static long enteredAt(final long word) {
+        return word & TIME_MASK;
+    }
+}
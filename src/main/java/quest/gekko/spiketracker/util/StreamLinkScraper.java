@@ -1,11 +1,13 @@
 package quest.gekko.spiketracker.util;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
@@ -26,6 +28,9 @@ public class StreamLinkScraper {
     private static final int MAX_RETRIES = 3;
     private static final Duration RETRY_DELAY = Duration.ofSeconds(2);
 
+    // The page was fetched but lists no usable stream. Cached, unlike null, so the page is not fetched every time.
+    public static final String NO_STREAM_LINK = "";
+
     private static final Set<String> ALLOWED_DOMAINS = Set.of(
             "www.vlr.gg", "vlr.gg"
     );
@@ -47,7 +52,31 @@ public class StreamLinkScraper {
     @Value("${app.scraping.user-agent:Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36}")
     private String userAgent;
 
-    @Cacheable(value = "streamLinks", key = "#matchUrl")
+    private final CircuitBreaker circuitBreaker;
+
+    public StreamLinkScraper(
+            final MeterRegistry meterRegistry,
+            @Value("${app.scraping.circuit-breaker.failure-threshold:5}") final int failureThreshold,
+            @Value("${app.scraping.circuit-breaker.timeout-ms:120000}") final long timeoutMs,
+            @Value("${app.scraping.circuit-breaker.half-open-probes:1}") final int halfOpenProbes) {
+        this.circuitBreaker = new CircuitBreaker("vlr-scraper", failureThreshold, timeoutMs, halfOpenProbes, meterRegistry);
+    }
+
+    /**
+     * Forgets every scraped link, so the next scrape of each match goes back to vlr.gg.
+     */
+    @CacheEvict(value = "streamLinks", allEntries = true)
+    public void evictCachedLinks() {
+        log.info("Evicted cached stream links");
+    }
+
+    /**
+     * The stream link listed on a vlr.gg match page. Returns an empty string when the page loaded but lists no
+     * usable stream; that answer is cached like a link, so such a match is not fetched again until the entry
+     * expires or is evicted. Returns null when no page was fetched (disabled, breaker open or the fetch failed),
+     * which is never cached, so it is retried once vlr.gg recovers.
+     */
+    @Cacheable(value = "streamLinks", key = "#matchUrl", unless = "#result == null")
     public String scrapeStreamLink(final String matchUrl) {
         if (!scrapingEnabled) {
             log.debug("Stream link scraping is disabled");
@@ -59,6 +88,11 @@ public class StreamLinkScraper {
             return null;
         }
 
+        if (!circuitBreaker.tryAcquirePermission()) {
+            log.debug("Circuit breaker is open, skipping stream link scrape for {}", matchUrl);
+            return null;
+        }
+
         return scrapeStreamLinkWithRetry(matchUrl, 0);
     }
 
@@ -99,6 +133,9 @@ public class StreamLinkScraper {
                     .ignoreHttpErrors(false)
                     .get();
 
+            // The page loaded, so vlr.gg is reachable regardless of whether a stream is listed.
+            circuitBreaker.onSuccess();
+
             final Optional<String> streamLink = tryMultipleSelectors(document);
 
             if (streamLink.isPresent()) {
@@ -110,11 +147,11 @@ public class StreamLinkScraper {
                     return normalizedLink;
                 } else {
                     log.warn("Found invalid stream link: {}", link);
-                    return null;
+                    return NO_STREAM_LINK;
                 }
             } else {
                 log.warn("No stream link found in match page: {}", matchUrl);
-                return null;
+                return NO_STREAM_LINK;
             }
 
         } catch (final IOException e) {
@@ -127,14 +164,18 @@ public class StreamLinkScraper {
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     log.error("Thread interrupted during retry delay", ie);
+                    // The attempt that held the permit did fail; report it so a half-open probe is not left hanging.
+                    circuitBreaker.onFailure();
                     return null;
                 }
             } else {
                 log.error("Failed to scrape stream link after {} attempts", MAX_RETRIES);
+                circuitBreaker.onFailure();
                 return null;
             }
         } catch (Exception e) {
             log.error("Unexpected error while scraping stream link from {}: {}", matchUrl, e.getMessage(), e);
+            circuitBreaker.onFailure();
             return null;
         }
     }
@@ -244,7 +285,7 @@ public class StreamLinkScraper {
     }
 
     public boolean isHealthy() {
-        return scrapingEnabled;
+        return scrapingEnabled && circuitBreaker.getState() != CircuitBreaker.State.OPEN;
     }
 
     public void setScrapingEnabled(boolean enabled) {
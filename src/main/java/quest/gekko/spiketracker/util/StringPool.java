@@ -0,0 +1,117 @@
+package quest.gekko.spiketracker.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded canonicalization pool for the low-cardinality strings in upstream payloads: team names, flags, logo
+ * URLs, event and series names, map names and small score values. Handing every parse the same instances keeps
+ * the live heap small and lets equality checks short-circuit on reference identity.
+ * <p>
+ * Each parse is one generation. Entries not requested for {@code retainGenerations} generations, e.g. teams
+ * whose matches have ended, are swept out; once the pool is full new strings are passed through unpooled until
+ * a sweep frees room.
+ */
+@Slf4j
+@Component
+public class StringPool {
+    private static final int SWEEP_EVERY_GENERATIONS = 8;
+
+    private final int maxSize;
+    private final long retainGenerations;
+
+    private final ConcurrentHashMap<String, Entry> pool = new ConcurrentHashMap<>();
+    // Parses can end on several threads at once; each gets its own generation number, so exactly one of them
+    // sweeps at every multiple of SWEEP_EVERY_GENERATIONS.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejected;
+    private final Counter evicted;
+
+    public StringPool(
+            final MeterRegistry meterRegistry,
+            @Value("${app.string-pool.max-size:4096}") final int maxSize,
+            @Value("${app.string-pool.retain-generations:40}") final long retainGenerations) {
+        this.maxSize = maxSize;
+        this.retainGenerations = retainGenerations;
+
+        this.hits = meterRegistry.counter("string.pool.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("string.pool.lookups", "result", "miss");
+        this.rejected = meterRegistry.counter("string.pool.lookups", "result", "rejected");
+        this.evicted = meterRegistry.counter("string.pool.evictions");
+
+        meterRegistry.gauge("string.pool.size", pool, ConcurrentHashMap::size);
+    }
+
+    /**
+     * Returns the pooled instance equal to {@code value}, adding it if there is room.
+     */
+    public String canonicalize(final String value) {
+        if (value == null) {
+            return null;
+        }
+
+        final Entry existing = pool.get(value);
+
+        if (existing != null) {
+            existing.lastSeen = generation.get();
+            hits.increment();
+            return existing.value;
+        }
+
+        if (pool.size() >= maxSize) {
+            rejected.increment();
+            return value;
+        }
+
+        final Entry raced = pool.putIfAbsent(value, new Entry(value, generation.get()));
+        misses.increment();
+
+        return raced != null ? raced.value : value;
+    }
+
+    /**
+     * Marks the end of one parse. Every few generations, entries that have not been requested recently are dropped.
+     */
+    public void nextGeneration() {
+        final long current = generation.incrementAndGet();
+
+        if (current % SWEEP_EVERY_GENERATIONS != 0) {
+            return;
+        }
+
+        final long cutoff = current - retainGenerations;
+        final int before = pool.size();
+
+        pool.values().removeIf(entry -> entry.lastSeen < cutoff);
+
+        final int removed = before - pool.size();
+
+        if (removed > 0) {
+            evicted.increment(removed);
+            log.debug("String pool swept {} entries, {} remain", removed, pool.size());
+        }
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    private static final class Entry {
+        private final String value;
+        private volatile long lastSeen;
+
+        private Entry(final String value, final long lastSeen) {
+            this.value = value;
+            this.lastSeen = lastSeen;
+        }
+    }
+}
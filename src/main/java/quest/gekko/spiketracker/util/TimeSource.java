@@ -0,0 +1,54 @@
+package quest.gekko.spiketracker.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * The one place tracker, polling, history and API client code read time from. Production uses {@link #system()};
+ * simulations and benchmarks swap in a {@link VirtualTimeSource} so hours of match time pass in seconds and
+ * time-dependent paths run deterministically.
+ * <p>
+ * Durations and staleness should be measured with {@link #nanoTime()}, which is monotonic and allocation free;
+ * the wall-clock methods are for timestamps that leave the process.
+ */
+public interface TimeSource {
+
+    long currentTimeMillis();
+
+    long nanoTime();
+
+    default Instant instant() {
+        return Instant.ofEpochMilli(currentTimeMillis());
+    }
+
+    default LocalDateTime localDateTime() {
+        return LocalDateTime.ofInstant(instant(), ZoneId.systemDefault());
+    }
+
+    static TimeSource system() {
+        return SystemTimeSource.INSTANCE;
+    }
+
+    final class SystemTimeSource implements TimeSource {
+        private static final SystemTimeSource INSTANCE = new SystemTimeSource();
+
+        private SystemTimeSource() {
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public LocalDateTime localDateTime() {
+            return LocalDateTime.now();
+        }
+    }
+}
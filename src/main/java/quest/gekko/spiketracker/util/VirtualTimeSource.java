@@ -0,0 +1,44 @@
+package quest.gekko.spiketracker.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A clock that only moves when told to. Wall-clock and monotonic readings advance together, so code mixing
+ * the two sees a consistent timeline. Time never goes backwards: {@link #advanceTo(long)} with an earlier
+ * instant is ignored.
+ */
+public final class VirtualTimeSource implements TimeSource {
+    private final long startEpochMillis;
+    private final AtomicLong elapsedNanos = new AtomicLong();
+
+    public VirtualTimeSource(final long startEpochMillis) {
+        this.startEpochMillis = startEpochMillis;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return startEpochMillis + elapsedNanos.get() / 1_000_000;
+    }
+
+    @Override
+    public long nanoTime() {
+        return elapsedNanos.get();
+    }
+
+    public void advance(final Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Virtual time cannot move backwards: " + duration);
+        }
+
+        elapsedNanos.addAndGet(duration.toNanos());
+    }
+
+    /**
+     * Moves the wall clock forward to {@code epochMillis}, if it is not already past it.
+     */
+    public void advanceTo(final long epochMillis) {
+        final long target = (epochMillis - startEpochMillis) * 1_000_000;
+        elapsedNanos.accumulateAndGet(target, Math::max);
+    }
+}
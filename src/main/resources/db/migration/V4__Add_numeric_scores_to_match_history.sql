@@ -0,0 +1,17 @@
+-- Numeric copies of the final score so winner, margin and aggregates never reparse the VARCHAR columns
+ALTER TABLE match_history ADD COLUMN score1 SMALLINT;
+ALTER TABLE match_history ADD COLUMN score2 SMALLINT;
+ALTER TABLE match_history ADD COLUMN map_number SMALLINT;
+
+-- Backfill rows whose stored score is a plain number; anything else stays NULL (unknown)
+UPDATE match_history
+SET score1 = CAST(TRIM(final_score1) AS SMALLINT)
+WHERE LENGTH(TRIM(final_score1)) BETWEEN 1 AND 4
+  AND TRIM(TRANSLATE(TRIM(final_score1), '0123456789', '          ')) = '';
+
+UPDATE match_history
+SET score2 = CAST(TRIM(final_score2) AS SMALLINT)
+WHERE LENGTH(TRIM(final_score2)) BETWEEN 1 AND 4
+  AND TRIM(TRANSLATE(TRIM(final_score2), '0123456789', '          ')) = '';
+
+CREATE INDEX idx_match_history_scores ON match_history(score1, score2) WHERE score1 IS NOT NULL AND score2 IS NOT NULL;
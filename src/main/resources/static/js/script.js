@@ -11,6 +11,11 @@ class SpikeTracker {
         this.lastRenderHash = '';
         this.isInitialLoad = true;
 
+        // Snapshot version the live matches are at; null until a snapshot arrives.
+        this.snapshotSeq = null;
+        this.snapshotSubscription = null;
+        this.pendingPatches = [];
+
         this.defaultTeamImage = 'data:image/svg+xml;base64,PHN2ZyB3aWR0aD0iNjAiIGhlaWdodD0iNjAiIHZpZXdCb3g9IjAgMCA2MCA2MCIgeG1sbnM9Imh0dHA6Ly93d3cudzMub3JnLzIwMDAvc3ZnIj4KICA8Y2lyY2xlIGN4PSIzMCIgY3k9IjMwIiByPSIyOCIgZmlsbD0iIzJkMzc0OCIgc3Ryb2tlPSIjZmY2YjM1IiBzdHJva2Utd2lkdGg9IjIiLz4KICA8dGV4dCB4PSIzMCIgeT0iMzciIHRleHQtYW5jaG9yPSJtaWRkbGUiIGZvbnQtZmFtaWx5PSJBcmlhbCwgc2Fucy1zZXJpZiIgZm9udC1zaXplPSIxNiIgZm9udC13ZWlnaHQ9ImJvbGQiIGZpbGw9IiNmZmZmZmYiPj88L3RleHQ+Cjwvc3ZnPg==';
 
         this.initializeWebSocket();
@@ -42,11 +47,74 @@ class SpikeTracker {
         this.updateConnectionStatus('connected');
 
         this.stompClient.subscribe('/topic/matches', (message) => {
-            const matches = JSON.parse(message.body);
-            this.updateLiveMatches(matches);
+            this.onMatchMessage(JSON.parse(message.body));
+        });
+
+        // Any previous subscription belonged to the connection that just dropped.
+        this.snapshotSubscription = null;
+        this.requestSnapshot();
+    }
+
+    requestSnapshot() {
+        if (this.snapshotSubscription) {
+            this.snapshotSubscription.unsubscribe();
+        }
+
+        this.snapshotSeq = null;
+        this.pendingPatches = [];
+
+        // Answered once with the current snapshot, to this client only.
+        this.snapshotSubscription = this.stompClient.subscribe('/app/matches/snapshot', (message) => {
+            this.onMatchMessage(JSON.parse(message.body));
         });
+    }
+
+    onMatchMessage(message) {
+        if (message.type === 'snapshot') {
+            this.snapshotSeq = message.seq;
+            this.updateLiveMatches(message.matches || []);
+
+            // Patches that raced the snapshot; ones it already covers are skipped by applyPatch.
+            const pending = this.pendingPatches;
+            this.pendingPatches = [];
+            pending.forEach(patch => this.applyPatch(patch));
+            return;
+        }
+
+        if (this.snapshotSeq === null) {
+            this.pendingPatches.push(message);
+            return;
+        }
+
+        this.applyPatch(message);
+    }
+
+    applyPatch(patch) {
+        if (this.snapshotSeq === null || patch.seq <= this.snapshotSeq) {
+            return;
+        }
+
+        if (patch.prev !== this.snapshotSeq) {
+            console.log(`Missed updates (at ${this.snapshotSeq}, patch from ${patch.prev}), resyncing`);
+            this.requestSnapshot();
+            return;
+        }
+
+        const matches = new Map(this.liveMatches);
+
+        (patch.removed || []).forEach(id => matches.delete(id));
+
+        Object.entries(patch.changed || {}).forEach(([id, fields]) => {
+            const match = matches.get(id);
+            if (match) {
+                matches.set(id, { ...match, ...fields });
+            }
+        });
+
+        (patch.added || []).forEach(match => matches.set(match.match_page, match));
 
-        this.stompClient.send('/app/matches/subscribe', {}, JSON.stringify({}));
+        this.snapshotSeq = patch.seq;
+        this.updateLiveMatches(Array.from(matches.values()));
     }
 
     onError(error) {
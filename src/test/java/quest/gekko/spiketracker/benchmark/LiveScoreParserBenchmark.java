@@ -0,0 +1,108 @@
+package quest.gekko.spiketracker.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import quest.gekko.spiketracker.model.api.VlrggApiResponse;
+import quest.gekko.spiketracker.model.match.LiveMatchData;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+import quest.gekko.spiketracker.service.api.LiveScoreParser;
+import quest.gekko.spiketracker.util.StringPool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming live_score parser against the previous databind + filter path on recorded payloads.
+ * Run with: {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=quest.gekko.spiketracker.benchmark.LiveScoreParserBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LiveScoreParserBenchmark {
+    @Param({"1", "20", "200"})
+    private int segments;
+
+    private byte[] payload;
+    private ObjectMapper objectMapper;
+    private LiveScoreParser parser;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = LiveScoreParserBenchmark.class.getResourceAsStream("/payloads/live_score_" + segments + ".json")) {
+            if (in == null) {
+                throw new IllegalStateException("Missing payload fixture for " + segments + " segments");
+            }
+
+            payload = in.readAllBytes();
+        }
+
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        parser = new LiveScoreParser(objectMapper, new StringPool(new SimpleMeterRegistry(), 4096, 40));
+    }
+
+    @Benchmark
+    public LiveMatchData databindAndFilter() throws IOException {
+        final VlrggApiResponse response = objectMapper.readValue(payload, VlrggApiResponse.class);
+        final LiveMatchData data = response.data();
+
+        final List<MatchSegment> valid = data.segments().stream()
+                .filter(LiveScoreParserBenchmark::isValidMatchSegment)
+                .toList();
+
+        return new LiveMatchData(data.status(), valid);
+    }
+
+    @Benchmark
+    public LiveMatchData streamingParser() throws IOException {
+        return parser.parse(payload);
+    }
+
+    private static boolean isValidMatchSegment(final MatchSegment segment) {
+        if (segment == null || segment.match_page() == null || segment.match_page().trim().isEmpty()) {
+            return false;
+        }
+
+        if (segment.team1() == null || segment.team1().trim().isEmpty() || segment.team2() == null || segment.team2().trim().isEmpty()) {
+            return false;
+        }
+
+        try {
+            URI.create(segment.match_page());
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LiveScoreParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,188 @@
+package quest.gekko.spiketracker.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import quest.gekko.spiketracker.service.MatchTrackingService;
+import quest.gekko.spiketracker.simulator.VlrggApiSimulator;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Reconnect storm against the real STOMP endpoint, fed by a frozen {@link VlrggApiSimulator}. Every connecting
+ * client must get exactly one snapshot on {@code /app/matches/snapshot}, while clients already on
+ * {@code /topic/matches} must see nothing beyond the broadcasts the poller made, however many clients connect.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MatchSnapshotSubscribeLoadTest {
+    private static final int LIVE_MATCHES = 25;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static VlrggApiSimulator simulator;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MatchTrackingService matchTrackingService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private WebSocketStompClient stompClient;
+
+    @DynamicPropertySource
+    static void properties(final DynamicPropertyRegistry registry) throws IOException {
+        // Upstream never changes, so every poll after the first is a 304 and nothing is broadcast.
+        simulator = VlrggApiSimulator.builder().liveMatches(LIVE_MATCHES).roundIntervalMs(3_600_000).start();
+
+        registry.add("vlrgg.api.base-url", simulator::baseUrl);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("app.match-tracking.enable-stream-scraping", () -> "false");
+        registry.add("app.websocket.max-connections-per-ip", () -> "10000");
+    }
+
+    @AfterAll
+    static void stopSimulator() {
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        await().atMost(Duration.ofSeconds(30)).until(() -> matchTrackingService.getSnapshot().size() == LIVE_MATCHES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stompClient.stop();
+    }
+
+    @Test
+    void reconnectStormDoesNotFanOut() throws Exception {
+        final AtomicInteger observed = new AtomicInteger();
+        final StompSession observer = connect();
+        observer.subscribe("/topic/matches", counting(observed, null));
+
+        final double broadcastsBefore = broadcasts();
+
+        final List<AtomicInteger> small = storm(10);
+        final List<AtomicInteger> large = storm(200);
+
+        // Give any duplicate reply or stray fan-out time to arrive before counting.
+        Thread.sleep(500);
+
+        final long broadcastsDuring = Math.round(broadcasts() - broadcastsBefore);
+
+        assertThat(small).allMatch(replies -> replies.get() == 1);
+        assertThat(large).allMatch(replies -> replies.get() == 1);
+        assertThat(broadcastsDuring).isZero();
+        assertThat(observed.get()).isEqualTo(broadcastsDuring);
+
+        observer.disconnect();
+    }
+
+    /**
+     * Connects {@code clients} sessions the way the browser does, waits until each has its snapshot reply and
+     * disconnects them. Returns how many replies each session got.
+     */
+    private List<AtomicInteger> storm(final int clients) throws Exception {
+        final List<StompSession> sessions = new ArrayList<>(clients);
+        final List<AtomicInteger> replies = new ArrayList<>(clients);
+        final CountDownLatch received = new CountDownLatch(clients);
+
+        for (int i = 0; i < clients; i++) {
+            final AtomicInteger count = new AtomicInteger();
+            final StompSession session = connect();
+
+            session.subscribe("/topic/matches", counting(new AtomicInteger(), null));
+            session.subscribe("/app/matches/snapshot", counting(count, body -> {
+                assertThat(new String(body, StandardCharsets.UTF_8)).startsWith("{\"type\":\"snapshot\"");
+                received.countDown();
+            }));
+
+            sessions.add(session);
+            replies.add(count);
+        }
+
+        assertThat(received.await(30, TimeUnit.SECONDS)).isTrue();
+        sessions.forEach(StompSession::disconnect);
+
+        return replies;
+    }
+
+    private StompSession connect() throws Exception {
+        return stompClient.connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private double broadcasts() {
+        final Counter counter = meterRegistry.find("websocket.broadcast").tag("status", "success").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static StompFrameHandler counting(final AtomicInteger count, final BodyListener listener) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(final StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(final StompHeaders headers, final Object payload) {
+                count.incrementAndGet();
+
+                if (listener != null) {
+                    listener.onBody((byte[]) payload);
+                }
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface BodyListener {
+        void onBody(byte[] body);
+    }
+}
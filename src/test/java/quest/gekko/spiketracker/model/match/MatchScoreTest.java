@@ -0,0 +1,56 @@
+package quest.gekko.spiketracker.model.match;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchScoreTest {
+
+    @Test
+    void parsesPlainNumbers() {
+        assertThat(MatchScore.parse("0")).isZero();
+        assertThat(MatchScore.parse("13")).isEqualTo(13);
+        assertThat(MatchScore.parse(" 2 ")).isEqualTo(2);
+        assertThat(MatchScore.parse("007")).isEqualTo(7);
+        assertThat(MatchScore.parse("9999")).isEqualTo(9999);
+    }
+
+    @Test
+    void missingOrBlankIsUnknown() {
+        assertThat(MatchScore.parse(null)).isEqualTo(MatchScore.UNKNOWN);
+        assertThat(MatchScore.parse("")).isEqualTo(MatchScore.UNKNOWN);
+        assertThat(MatchScore.parse("   ")).isEqualTo(MatchScore.UNKNOWN);
+    }
+
+    @Test
+    void nonNumericIsUnknown() {
+        assertThat(MatchScore.parse("TBD")).isEqualTo(MatchScore.UNKNOWN);
+        assertThat(MatchScore.parse("1-0")).isEqualTo(MatchScore.UNKNOWN);
+        assertThat(MatchScore.parse("1.5")).isEqualTo(MatchScore.UNKNOWN);
+        assertThat(MatchScore.parse("+1")).isEqualTo(MatchScore.UNKNOWN);
+        assertThat(MatchScore.parse("\u0661\u0663")).isEqualTo(MatchScore.UNKNOWN);
+    }
+
+    @Test
+    void negativeIsUnknown() {
+        assertThat(MatchScore.parse("-1")).isEqualTo(MatchScore.UNKNOWN);
+        assertThat(MatchScore.parse("-13")).isEqualTo(MatchScore.UNKNOWN);
+    }
+
+    @Test
+    void overLongIsUnknownAndNeverOverflows() {
+        assertThat(MatchScore.parse("10000")).isEqualTo(MatchScore.UNKNOWN);
+        assertThat(MatchScore.parse("99999999999999999999")).isEqualTo(MatchScore.UNKNOWN);
+        assertThat(MatchScore.parse("0".repeat(5))).isEqualTo(MatchScore.UNKNOWN);
+    }
+
+    @Test
+    void roundTotalsNeedBothHalves() {
+        final MatchScore score = new MatchScore(1, 0, 7, 5, MatchScore.UNKNOWN, 4, 2);
+
+        assertThat(score.isKnown()).isTrue();
+        assertThat(score.team1Rounds()).isEqualTo(12);
+        assertThat(score.team2Rounds()).isEqualTo(MatchScore.UNKNOWN);
+        assertThat(MatchScore.NONE.isKnown()).isFalse();
+    }
+}
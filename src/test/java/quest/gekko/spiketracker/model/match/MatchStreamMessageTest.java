@@ -0,0 +1,101 @@
+package quest.gekko.spiketracker.model.match;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchStreamMessageTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void patchAppliedToPreviousGivesCurrent() throws IOException {
+        final MatchSegment kept = match("1", "Sentinels", "FNATIC", "1", "0", "Lotus", "https://www.twitch.tv/valorant");
+        final MatchSegment unchanged = match("2", "PRX", "DRX", "0", "0", "Ascent", null);
+        final MatchSegment gone = match("3", "G2", "LOUD", "2", "1", "Bind", null);
+
+        // Score and map move on, and the stream link is cleared.
+        final MatchSegment changed = match("1", "Sentinels", "FNATIC", "1", "1", "Haven", null);
+        final MatchSegment added = match("4", "EDG", "T1", "0", "0", "Split", "https://www.youtube.com/valorant");
+
+        final LiveMatchSnapshot previous = LiveMatchSnapshot.of(5, Instant.EPOCH, List.of(kept, unchanged, gone));
+        final LiveMatchSnapshot current = LiveMatchSnapshot.of(6, Instant.EPOCH, List.of(changed, unchanged, added));
+
+        final MatchStreamMessage patch = MatchStreamMessage.patch(previous, current);
+
+        assertThat(patch.hasChanges()).isTrue();
+        assertThat(patch.seq()).isEqualTo(6);
+        assertThat(patch.prev()).isEqualTo(5);
+        assertThat(patch.added()).containsExactly(added);
+        assertThat(patch.removed()).containsExactly(gone.match_page());
+        assertThat(patch.changed()).containsOnlyKeys(kept.match_page());
+        assertThat(patch.changed().get(kept.match_page())).containsEntry("streamLink", null);
+
+        // Applied as a client would, after the patch has been through JSON.
+        final MatchStreamMessage received = MAPPER.readValue(MAPPER.writeValueAsBytes(patch), MatchStreamMessage.class);
+
+        assertThat(apply(previous, received)).isEqualTo(current.matches());
+    }
+
+    @Test
+    void versionsThatOnlyReorderMatchesHaveNoChanges() {
+        final MatchSegment first = match("1", "Sentinels", "FNATIC", "1", "0", "Lotus", null);
+        final MatchSegment second = match("2", "PRX", "DRX", "0", "0", "Ascent", null);
+
+        final LiveMatchSnapshot previous = LiveMatchSnapshot.of(5, Instant.EPOCH, List.of(first, second));
+        final LiveMatchSnapshot current = LiveMatchSnapshot.of(6, Instant.EPOCH, List.of(second, first));
+
+        final MatchStreamMessage patch = MatchStreamMessage.patch(previous, current);
+
+        assertThat(patch.hasChanges()).isFalse();
+        assertThat(MatchStreamMessage.snapshot(current).hasChanges()).isTrue();
+    }
+
+    private static Map<String, MatchSegment> apply(final LiveMatchSnapshot previous, final MatchStreamMessage patch) {
+        final Map<String, MatchSegment> matches = new LinkedHashMap<>(previous.matches());
+
+        if (patch.removed() != null) {
+            patch.removed().forEach(matches::remove);
+        }
+
+        if (patch.changed() != null) {
+            patch.changed().forEach((matchPage, fields) -> {
+                final Map<String, Object> json = MAPPER.convertValue(matches.get(matchPage), new TypeReference<>() {});
+                json.putAll(fields);
+                matches.put(matchPage, MAPPER.convertValue(json, MatchSegment.class));
+            });
+        }
+
+        if (patch.added() != null) {
+            patch.added().forEach(segment -> matches.put(segment.match_page(), segment));
+        }
+
+        return matches;
+    }
+
+    private static MatchSegment match(final String id, final String team1, final String team2,
+                                      final String score1, final String score2, final String map,
+                                      final String streamLink) {
+        return new MatchSegment(
+                team1, team2,
+                null, null,
+                null, null,
+                score1, score2,
+                null, null,
+                null, null,
+                "1", map,
+                "LIVE",
+                "Champions Tour 2025: Masters Toronto", "Playoffs",
+                null,
+                "https://www.vlr.gg/" + id + "/" + team1.toLowerCase() + "-vs-" + team2.toLowerCase(),
+                streamLink
+        );
+    }
+}
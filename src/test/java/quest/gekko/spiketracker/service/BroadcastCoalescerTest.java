@@ -0,0 +1,164 @@
+package quest.gekko.spiketracker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import quest.gekko.spiketracker.util.VirtualTimeSource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BroadcastCoalescerTest {
+    private static final long START = 1_750_000_000_000L;
+
+    private final VirtualTimeSource timeSource = new VirtualTimeSource(START);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger broadcasts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(taskScheduler.getClock()).thenReturn(new VirtualClock(timeSource));
+        doReturn(mock(ScheduledFuture.class)).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void burstCollapsesIntoOneBroadcast() {
+        final BroadcastCoalescer coalescer = newCoalescer(500, 2_000);
+
+        // Idle, so the first request goes out at once.
+        coalescer.request("poll");
+        assertThat(broadcasts).hasValue(1);
+
+        timeSource.advance(Duration.ofMillis(100));
+
+        for (int i = 0; i < 10; i++) {
+            coalescer.request(i % 2 == 0 ? "poll" : "scrape");
+            timeSource.advance(Duration.ofMillis(20));
+        }
+
+        assertThat(broadcasts).hasValue(1);
+
+        // One timer for the whole burst, due minInterval after the last send.
+        final Runnable timer = scheduledTimer(Instant.ofEpochMilli(START + 500));
+
+        timeSource.advanceTo(START + 500);
+        timer.run();
+
+        assertThat(broadcasts).hasValue(2);
+        assertCountersAddUp(11, 2, 9);
+    }
+
+    @Test
+    void maxDelayBoundsHowLongARequestWaits() {
+        final BroadcastCoalescer coalescer = newCoalescer(1_000, 200);
+
+        coalescer.request("poll");
+        timeSource.advance(Duration.ofMillis(50));
+        coalescer.request("poll");
+
+        // minInterval alone would hold it until +1000; maxDelay caps the wait at 200ms from the request.
+        final Runnable timer = scheduledTimer(Instant.ofEpochMilli(START + 250));
+
+        // Requests keep arriving, but they join the pending one instead of pushing it back.
+        for (int i = 0; i < 4; i++) {
+            timeSource.advance(Duration.ofMillis(50));
+            coalescer.request("scrape");
+        }
+
+        timer.run();
+
+        assertThat(broadcasts).hasValue(2);
+        assertCountersAddUp(6, 2, 4);
+    }
+
+    @Test
+    void requestAfterAQuietPeriodIsSentImmediately() {
+        final BroadcastCoalescer coalescer = newCoalescer(500, 2_000);
+
+        coalescer.request("poll");
+        timeSource.advance(Duration.ofMillis(500));
+        coalescer.request("poll");
+
+        assertThat(broadcasts).hasValue(2);
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+        assertCountersAddUp(2, 2, 0);
+    }
+
+    @Test
+    void flushSendsThePendingRequestWithoutWaiting() {
+        final BroadcastCoalescer coalescer = newCoalescer(500, 2_000);
+
+        coalescer.request("poll");
+        timeSource.advance(Duration.ofMillis(100));
+        coalescer.request("poll");
+        coalescer.flush("snapshot");
+
+        assertThat(broadcasts).hasValue(2);
+        assertCountersAddUp(3, 2, 1);
+    }
+
+    private BroadcastCoalescer newCoalescer(final long minIntervalMs, final long maxDelayMs) {
+        return new BroadcastCoalescer(broadcasts::incrementAndGet, Runnable::run, taskScheduler, meterRegistry,
+                minIntervalMs, maxDelayMs);
+    }
+
+    private Runnable scheduledTimer(final Instant dueAt) {
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(1)).schedule(task.capture(), any(Instant.class));
+        verify(taskScheduler).schedule(task.getValue(), dueAt);
+        return task.getValue();
+    }
+
+    // Every request is either sent on its own or folded into a send; none is lost or counted twice.
+    private void assertCountersAddUp(final double requests, final double sent, final double coalesced) {
+        assertThat(total("broadcast.requests")).isEqualTo(requests);
+        assertThat(meterRegistry.counter("broadcast.sent").count()).isEqualTo(sent);
+        assertThat(total("broadcast.coalesced")).isEqualTo(coalesced);
+        assertThat(sent + coalesced).isEqualTo(requests);
+    }
+
+    private double total(final String name) {
+        return meterRegistry.find(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private static final class VirtualClock extends Clock {
+        private final VirtualTimeSource timeSource;
+
+        private VirtualClock(final VirtualTimeSource timeSource) {
+            this.timeSource = timeSource;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return timeSource.instant();
+        }
+    }
+}
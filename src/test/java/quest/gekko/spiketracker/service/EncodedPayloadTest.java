@@ -0,0 +1,48 @@
+package quest.gekko.spiketracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncodedPayloadTest {
+
+    @Test
+    void etagFollowsContentNotVersion() {
+        final EncodedPayload first = payload(3, "{\"data\":[]}");
+        // Same body under another replica's or an earlier process's numbering.
+        final EncodedPayload restarted = payload(1, "{\"data\":[]}");
+        final EncodedPayload changed = payload(3, "{\"data\":[1]}");
+
+        assertThat(restarted.etag(false)).isEqualTo(first.etag(false));
+        assertThat(changed.etag(false)).isNotEqualTo(first.etag(false));
+    }
+
+    @Test
+    void eachEncodingHasItsOwnEtag() {
+        final EncodedPayload payload = payload(3, "{\"data\":[]}");
+
+        assertThat(payload.etag(true)).isNotEqualTo(payload.etag(false));
+        assertThat(payload.etag(true)).startsWith("\"").endsWith("-gzip\"");
+    }
+
+    @Test
+    void acceptEncodingHonoursQualityValues() {
+        assertThat(EncodedPayload.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(EncodedPayload.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(EncodedPayload.acceptsGzip("x-gzip")).isTrue();
+        assertThat(EncodedPayload.acceptsGzip("*")).isTrue();
+
+        assertThat(EncodedPayload.acceptsGzip(null)).isFalse();
+        assertThat(EncodedPayload.acceptsGzip("identity")).isFalse();
+        assertThat(EncodedPayload.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(EncodedPayload.acceptsGzip("gzip; q=0.0, *")).isFalse();
+        assertThat(EncodedPayload.acceptsGzip("*;q=0")).isFalse();
+        assertThat(EncodedPayload.acceptsGzip("deflate, notgzip")).isFalse();
+    }
+
+    private static EncodedPayload payload(final long version, final String json) {
+        return new EncodedPayload(version, false, json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,183 @@
+package quest.gekko.spiketracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaderElectionServiceTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Connection connection = mock(Connection.class);
+    private final Statement statement = mock(Statement.class);
+    private final PreparedStatement lockStatement = mock(PreparedStatement.class);
+    private final PreparedStatement notifyStatement = mock(PreparedStatement.class);
+    private final ResultSet lockResult = mock(ResultSet.class);
+
+    private LeaderElectionService service;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement("SELECT pg_try_advisory_lock(?)")).thenReturn(lockStatement);
+        when(connection.prepareStatement("SELECT pg_notify(?, ?)")).thenReturn(notifyStatement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(mock(PGConnection.class));
+        when(lockStatement.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true);
+
+        // Heartbeat on every pass, so each coordinate() call below is one heartbeat.
+        service = new LeaderElectionService(new DataSourceProperties(), eventPublisher, objectMapper, meterRegistry,
+                true, 7270420, 0, "spike_tracker_snapshot") {
+            @Override
+            Connection openConnection() {
+                return connection;
+            }
+        };
+    }
+
+    @Test
+    void chunksArrivingOutOfOrderAreReassembled() throws IOException {
+        final List<String> chunks = chunks("leader-1", List.of(segment("1")), 3);
+
+        service.onChunk(chunks.get(2));
+        service.onChunk(chunks.get(0));
+        assertThat(publishedSnapshots()).isEmpty();
+
+        service.onChunk(chunks.get(1));
+
+        assertThat(publishedSnapshots()).containsExactly(List.of(segment("1")));
+        assertThat(meterRegistry.counter("cluster.snapshots", "direction", "received").count()).isEqualTo(1);
+    }
+
+    @Test
+    void snapshotWithAMissingChunkIsNeverPublished() throws IOException {
+        final List<String> chunks = chunks("leader-1", List.of(segment("1")), 3);
+
+        service.onChunk(chunks.get(0));
+        service.onChunk(chunks.get(2));
+
+        assertThat(publishedSnapshots()).isEmpty();
+    }
+
+    @Test
+    void newerSnapshotDiscardsThePartialOne() throws IOException {
+        final List<String> older = chunks("leader-1", List.of(segment("1")), 3);
+        final List<String> newer = chunks("leader-2", List.of(segment("2")), 2);
+
+        service.onChunk(older.get(0));
+        service.onChunk(older.get(1));
+        service.onChunk(newer.get(1));
+        service.onChunk(newer.get(0));
+
+        // The last chunk of the abandoned snapshot turns up late and must not revive it.
+        service.onChunk(older.get(2));
+
+        assertThat(publishedSnapshots()).containsExactly(List.of(segment("2")));
+    }
+
+    @Test
+    void leaderStepsDownWhenItsHeartbeatConnectionDrops() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(true);
+
+        assertThat(service.coordinate()).isTrue();
+        assertThat(service.isLeader()).isTrue();
+
+        service.publishSnapshot(List.of(segment("1")));
+        when(statement.execute("SELECT 1")).thenThrow(new SQLException("An I/O error occurred while sending to the backend"));
+
+        assertThat(service.coordinate()).isFalse();
+
+        assertThat(service.isLeader()).isFalse();
+        verify(connection).close();
+        verify(eventPublisher).publishEvent(new LeaderElectionService.LeadershipChangedEvent(true));
+        verify(eventPublisher).publishEvent(new LeaderElectionService.LeadershipChangedEvent(false));
+
+        // Another node took the lock while we were away: reconnecting leaves us a follower, and the snapshot
+        // queued while we were leader is never sent.
+        when(lockResult.getBoolean(1)).thenReturn(false);
+
+        assertThat(service.coordinate()).isTrue();
+        assertThat(service.isLeader()).isFalse();
+        verify(notifyStatement, never()).execute();
+    }
+
+    private List<Object> publishedSnapshots() {
+        final ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeast(0)).publishEvent(events.capture());
+
+        final List<Object> snapshots = new ArrayList<>();
+
+        for (final Object event : events.getAllValues()) {
+            if (event instanceof LeaderElectionService.ClusterSnapshotEvent snapshot) {
+                snapshots.add(snapshot.matches());
+            }
+        }
+
+        return snapshots;
+    }
+
+    // Same wire format the leader sends: gzipped JSON, base64 encoded, split into id:index:count:chunk.
+    private List<String> chunks(final String snapshotId, final List<MatchSegment> matches, final int count)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(objectMapper.writeValueAsBytes(matches));
+        }
+
+        final String encoded = Base64.getEncoder().encodeToString(out.toByteArray());
+        final int size = (encoded.length() + count - 1) / count;
+        final List<String> chunks = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            final String chunk = encoded.substring(Math.min(encoded.length(), i * size),
+                    Math.min(encoded.length(), (i + 1) * size));
+            chunks.add(snapshotId + ":" + i + ":" + count + ":" + chunk);
+        }
+
+        return chunks;
+    }
+
+    private static MatchSegment segment(final String score1) {
+        return new MatchSegment(
+                "Sentinels", "FNATIC",
+                null, null,
+                null, null,
+                score1, "0",
+                null, null,
+                null, null,
+                "2", "Lotus",
+                "LIVE",
+                "Champions Tour 2025: Masters Toronto", "Playoffs",
+                null,
+                "https://www.vlr.gg/498628/sentinels-vs-fnatic",
+                null
+        );
+    }
+}
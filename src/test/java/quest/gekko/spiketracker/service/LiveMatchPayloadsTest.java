@@ -0,0 +1,91 @@
+package quest.gekko.spiketracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import quest.gekko.spiketracker.model.match.LiveMatchSnapshot;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LiveMatchPayloadsTest {
+    private static final String EVENT = "champions-tour-2025-masters-toronto";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LiveMatchPublisher publisher = new LiveMatchPublisher(mock(SimpMessagingTemplate.class),
+            mock(TopicSubscriptionRegistry.class), new LiveMatchPayloads(new ObjectMapper(), meterRegistry),
+            meterRegistry, 60_000, 10);
+
+    @Test
+    void subscribersToOneMatchShareOneEncoding() {
+        final LiveMatchSnapshot snapshot = snapshot(4, "1");
+
+        final byte[] first = publisher.matchPayload(snapshot, "498628");
+        final byte[] second = publisher.matchPayload(snapshot, "498628");
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first, StandardCharsets.UTF_8)).contains("\"seq\":4", "sentinels-vs-fnatic");
+        assertThat(encodings("match")).isEqualTo(1);
+    }
+
+    @Test
+    void eventSubscribersShareOneEncoding() {
+        final LiveMatchSnapshot snapshot = snapshot(4, "1");
+
+        assertThat(publisher.eventPayload(snapshot, EVENT)).isSameAs(publisher.eventPayload(snapshot, EVENT));
+        assertThat(encodings("event")).isEqualTo(1);
+    }
+
+    @Test
+    void idsWithNothingLiveShareTheEmptyBody() {
+        final LiveMatchSnapshot snapshot = snapshot(4, "1");
+
+        final byte[] missing = publisher.matchPayload(snapshot, "1");
+
+        assertThat(publisher.matchPayload(snapshot, "2")).isSameAs(missing);
+        assertThat(publisher.matchPayload(snapshot, "3")).isSameAs(missing);
+        assertThat(new String(missing, StandardCharsets.UTF_8)).doesNotContain("matches");
+        assertThat(encodings("match")).isEqualTo(1);
+    }
+
+    @Test
+    void newVersionIsEncodedAgain() {
+        final byte[] before = publisher.matchPayload(snapshot(4, "1"), "498628");
+        final byte[] after = publisher.matchPayload(snapshot(5, "2"), "498628");
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(new String(after, StandardCharsets.UTF_8)).contains("\"seq\":5");
+
+        // A request still holding the older snapshot gets its own body and does not push the newer one out.
+        publisher.matchPayload(snapshot(4, "1"), "498628");
+        assertThat(publisher.matchPayload(snapshot(5, "2"), "498628")).isSameAs(after);
+        assertThat(encodings("match")).isEqualTo(3);
+    }
+
+    private double encodings(final String kind) {
+        return meterRegistry.counter("payload.encodings", "kind", kind).count();
+    }
+
+    private static LiveMatchSnapshot snapshot(final long version, final String score1) {
+        return LiveMatchSnapshot.of(version, Instant.EPOCH, List.of(new MatchSegment(
+                "Sentinels", "FNATIC",
+                null, null,
+                null, null,
+                score1, "0",
+                null, null,
+                null, null,
+                "2", "Lotus",
+                "LIVE",
+                "Champions Tour 2025: Masters Toronto", "Playoffs",
+                null,
+                "https://www.vlr.gg/498628/sentinels-vs-fnatic",
+                null
+        )));
+    }
+}
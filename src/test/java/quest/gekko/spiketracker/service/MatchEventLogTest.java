@@ -0,0 +1,155 @@
+package quest.gekko.spiketracker.service;
+
+import org.junit.jupiter.api.Test;
+import quest.gekko.spiketracker.model.match.MatchDelta;
+import quest.gekko.spiketracker.model.match.MatchEvent;
+import quest.gekko.spiketracker.model.match.MatchScore;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MatchEventLogTest {
+
+    @Test
+    void returnsEventsAfterSinceOldestFirst() {
+        final MatchEventLog log = logWith(8, 5);
+
+        final MatchEventLog.Slice slice = log.since(2, log.epoch());
+
+        assertThat(slice.latestSeq()).isEqualTo(5);
+        assertThat(slice.truncated()).isFalse();
+        assertThat(seqs(slice)).containsExactly(3L, 4L, 5L);
+        assertThat(slice.events()).extracting(MatchEvent::score1).containsExactly(3, 4, 5);
+    }
+
+    @Test
+    void upToDateClientGetsNothing() {
+        final MatchEventLog log = logWith(8, 5);
+
+        final MatchEventLog.Slice slice = log.since(5, log.epoch());
+
+        assertThat(slice.truncated()).isFalse();
+        assertThat(slice.events()).isEmpty();
+    }
+
+    @Test
+    void wrappedBufferKeepsTheNewestEventsAndFlagsTheGap() {
+        final MatchEventLog log = logWith(4, 10);
+
+        final MatchEventLog.Slice behind = log.since(3, log.epoch());
+
+        // 4, 5 and 6 were overwritten by 8, 9 and 10.
+        assertThat(behind.truncated()).isTrue();
+        assertThat(seqs(behind)).containsExactly(7L, 8L, 9L, 10L);
+
+        // Asking from just before the oldest retained event loses nothing.
+        final MatchEventLog.Slice caughtUp = log.since(6, log.epoch());
+
+        assertThat(caughtUp.truncated()).isFalse();
+        assertThat(seqs(caughtUp)).containsExactly(7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void sinceBeyondTheLatestEventMeansTheLogWasRecreated() {
+        // The client followed a log that got to 50 before a restart; this one has only reached 3.
+        final MatchEventLog log = logWith(8, 3);
+
+        final MatchEventLog.Slice slice = log.since(50, 0);
+
+        assertThat(slice.truncated()).isTrue();
+        assertThat(seqs(slice)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void epochFromAnotherLogForcesAResync() {
+        final MatchEventLog previous = logWith(8, 2);
+        final MatchEventLog current = logWith(8, 5);
+
+        assertThat(current.epoch()).isNotEqualTo(previous.epoch());
+
+        // Numbering has already passed the client's seq, so only the epoch shows these are different events.
+        final MatchEventLog.Slice slice = current.since(2, previous.epoch());
+
+        assertThat(slice.epoch()).isEqualTo(current.epoch());
+        assertThat(slice.truncated()).isTrue();
+        assertThat(seqs(slice)).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void concurrentReadsNeverSeeEventsOutOfOrder() throws Exception {
+        final MatchEventLog log = new MatchEventLog(16);
+        final AtomicBoolean done = new AtomicBoolean();
+
+        final CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> {
+            while (!done.get()) {
+                final long since = Math.max(0, log.latestSeq() - 20);
+                final MatchEventLog.Slice slice = log.since(since, log.epoch());
+                final List<Long> seqs = seqs(slice);
+
+                long previous = since;
+
+                for (final long seq : seqs) {
+                    assertThat(seq).isGreaterThan(previous).isLessThanOrEqualTo(slice.latestSeq());
+                    previous = seq;
+                }
+
+                // Anything missing between since and latestSeq has to be reported.
+                if (seqs.size() < slice.latestSeq() - since) {
+                    assertThat(slice.truncated()).isTrue();
+                }
+            }
+        });
+
+        for (int i = 1; i <= 200_000; i++) {
+            log.append(delta(i));
+        }
+
+        done.set(true);
+        reader.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new MatchEventLog(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MatchEventLog logWith(final int capacity, final int events) {
+        final MatchEventLog log = new MatchEventLog(capacity);
+
+        for (int i = 1; i <= events; i++) {
+            log.append(delta(i));
+        }
+
+        return log;
+    }
+
+    private static List<Long> seqs(final MatchEventLog.Slice slice) {
+        return slice.events().stream().map(MatchEvent::seq).toList();
+    }
+
+    private static MatchDelta delta(final int score1) {
+        final MatchSegment segment = new MatchSegment(
+                "Sentinels", "FNATIC",
+                null, null,
+                null, null,
+                String.valueOf(score1), "0",
+                null, null,
+                null, null,
+                "2", "Lotus",
+                "LIVE",
+                "Champions Tour 2025: Masters Toronto", "Playoffs",
+                null,
+                "https://www.vlr.gg/498628/sentinels-vs-fnatic",
+                null
+        );
+
+        return MatchDelta.updated(segment, MatchScore.of(segment), EnumSet.of(MatchDelta.Field.SCORE), 0L);
+    }
+}
@@ -0,0 +1,191 @@
+package quest.gekko.spiketracker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import quest.gekko.spiketracker.model.api.ApiFetchResult;
+import quest.gekko.spiketracker.model.match.LiveMatchData;
+import quest.gekko.spiketracker.model.match.LiveMatchSnapshot;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+import quest.gekko.spiketracker.model.match.MatchStreamMessage;
+import quest.gekko.spiketracker.service.api.VlrggMatchApiClient;
+import quest.gekko.spiketracker.util.StreamLinkScraper;
+import quest.gekko.spiketracker.util.VirtualTimeSource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MatchTrackingServiceTest {
+    private static final long START = 1_750_000_000_000L;
+    private static final String MATCH_PAGE = "https://www.vlr.gg/498628/sentinels-vs-fnatic";
+
+    private final VirtualTimeSource timeSource = new VirtualTimeSource(START);
+    private final VlrggMatchApiClient apiClient = mock(VlrggMatchApiClient.class);
+    private final LeaderElectionService leaderElection = mock(LeaderElectionService.class);
+    private final MatchHistoryService historyService = mock(MatchHistoryService.class);
+    private final LiveMatchPublisher publisher = mock(LiveMatchPublisher.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+
+    private MatchTrackingService service;
+
+    @BeforeEach
+    void setUp() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        when(leaderElection.isLeader()).thenReturn(true);
+        when(taskScheduler.getClock()).thenReturn(Clock.systemUTC());
+
+        service = new MatchTrackingService(
+                apiClient,
+                historyService,
+                publisher,
+                mock(StreamLinkScraper.class),
+                meterRegistry,
+                mock(AdaptivePollingService.class),
+                new PollingCadence(meterRegistry, false, 750, 16, 4, 0.8, 2_000),
+                new MatchDeltaEngine(),
+                leaderElection,
+                taskScheduler,
+                mock(SnapshotFileStore.class),
+                timeSource,
+                5, 60_000, false, false, 64,
+                // Enough misses that only the grace period can finalize the match.
+                5, 90_000,
+                false,
+                // No coalescing window, so every applied payload is broadcast before updateMatches returns.
+                0, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void missingMatchIsOnlyCompletedOnceTheGracePeriodHasPassed() {
+        service.updateMatches(payload(match("1", "0")));
+        assertThat(service.getLiveMatches()).containsKey(MATCH_PAGE);
+        assertThat(service.getSnapshot().builtAt()).isEqualTo(Instant.ofEpochMilli(START));
+
+        timeSource.advance(Duration.ofSeconds(15));
+        service.updateMatches(payload());
+
+        timeSource.advance(Duration.ofSeconds(60));
+        service.updateMatches(payload());
+
+        // Missing for 60s over two polls: still suspected, still shown.
+        assertThat(service.getLiveMatches()).containsKey(MATCH_PAGE);
+        verify(historyService, never()).recordMatchCompletion(any(), any(), any());
+
+        timeSource.advance(Duration.ofSeconds(40));
+        service.updateMatches(payload());
+
+        assertThat(service.getLiveMatches()).isEmpty();
+        assertThat(service.getSnapshot().builtAt()).isEqualTo(timeSource.instant());
+
+        // Completed as of when it was last seen live, on the virtual clock.
+        verify(historyService).recordMatchCompletion(any(), any(),
+                eq(LocalDateTime.ofInstant(Instant.ofEpochMilli(START), ZoneId.systemDefault())));
+    }
+
+    @Test
+    void unchangedPayloadsStillFinalizeAMatchThatDroppedOut() {
+        // The last live match disappears, after which upstream serves the same empty body on every poll.
+        when(apiClient.fetchLiveMatchDataAsync()).thenReturn(
+                fetched(ApiFetchResult.updated(payload(match("1", "0")))),
+                fetched(ApiFetchResult.updated(payload())),
+                fetched(ApiFetchResult.notModified()),
+                fetched(ApiFetchResult.notModified()));
+
+        service.updateMatches();
+
+        timeSource.advance(Duration.ofSeconds(15));
+        service.updateMatches();
+
+        timeSource.advance(Duration.ofSeconds(60));
+        service.updateMatches();
+
+        assertThat(service.getLiveMatches()).containsKey(MATCH_PAGE);
+        verify(historyService, never()).recordMatchCompletion(any(), any(), any());
+
+        timeSource.advance(Duration.ofSeconds(40));
+        service.updateMatches();
+
+        assertThat(service.getLiveMatches()).isEmpty();
+        verify(historyService).recordMatchCompletion(any(), any(),
+                eq(LocalDateTime.ofInstant(Instant.ofEpochMilli(START), ZoneId.systemDefault())));
+    }
+
+    @Test
+    void unchangedPayloadKeepsPresentMatchesLive() {
+        when(apiClient.fetchLiveMatchDataAsync()).thenReturn(
+                fetched(ApiFetchResult.updated(payload(match("1", "0")))),
+                fetched(ApiFetchResult.notModified()));
+
+        service.updateMatches();
+
+        timeSource.advance(Duration.ofMinutes(10));
+        service.updateMatches();
+
+        assertThat(service.getLiveMatches()).containsKey(MATCH_PAGE);
+        assertThat(service.getSnapshot().version()).isEqualTo(1);
+        verify(historyService, never()).recordMatchCompletion(any(), any(), any());
+    }
+
+    @Test
+    void patchesChainFromTheLastPublishedVersion() {
+        service.updateMatches(payload(match("1", "0")));
+        // Nothing clients can see moved, so nothing is published and the next patch still starts from version 1.
+        service.updateMatches(payload(match("1", "0")));
+        service.updateMatches(payload(match("2", "0")));
+
+        final ArgumentCaptor<LiveMatchSnapshot> previous = ArgumentCaptor.forClass(LiveMatchSnapshot.class);
+        final ArgumentCaptor<LiveMatchSnapshot> current = ArgumentCaptor.forClass(LiveMatchSnapshot.class);
+
+        verify(publisher, times(2)).publish(previous.capture(), current.capture(), argThat(MatchStreamMessage::hasChanges));
+        assertThat(previous.getAllValues()).extracting(LiveMatchSnapshot::version).containsExactly(0L, 1L);
+        assertThat(current.getAllValues()).extracting(LiveMatchSnapshot::version).containsExactly(1L, 2L);
+    }
+
+    private static CompletableFuture<ApiFetchResult> fetched(final ApiFetchResult result) {
+        return CompletableFuture.completedFuture(result);
+    }
+
+    private static LiveMatchData payload(final MatchSegment... segments) {
+        return new LiveMatchData(200, List.of(segments));
+    }
+
+    private static MatchSegment match(final String score1, final String score2) {
+        return new MatchSegment(
+                "Sentinels", "FNATIC",
+                null, null,
+                null, null,
+                score1, score2,
+                null, null,
+                null, null,
+                "2", "Lotus",
+                "LIVE",
+                "Champions Tour 2025: Masters Toronto", "Playoffs",
+                null,
+                MATCH_PAGE,
+                null
+        );
+    }
+}
@@ -0,0 +1,109 @@
+package quest.gekko.spiketracker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import quest.gekko.spiketracker.model.api.ApiFetchResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PollingCadenceTest {
+    private static final int INTERVAL = 15_000;
+    private static final long LANDING_MARGIN = 750;
+
+    // Upstream refreshes its cached payload every INTERVAL, at this offset into each period.
+    private static final long REFRESH_PHASE = 4_000;
+    private static final long RESPONSE_TIME = 150;
+
+    @Test
+    void ageHeaderConvergesOnTheRefreshPhaseWithoutPollingFaster() {
+        final PollingCadence cadence = newCadence();
+        final List<Long> ticks = run(cadence, 200, true);
+
+        final long expectedPhase = (REFRESH_PHASE + LANDING_MARGIN) % INTERVAL;
+        assertThat(cadence.getPhaseOffsetMs()).isEqualTo(expectedPhase);
+
+        for (final long tick : ticks.subList(150, ticks.size())) {
+            assertThat(Math.floorMod(tick, (long) INTERVAL)).isEqualTo(expectedPhase);
+        }
+
+        assertNeverFasterThanInterval(ticks);
+
+        // Once aligned the grid stays put, so the long-run rate is exactly the configured interval.
+        assertThat(ticks.getLast() - ticks.get(100)).isEqualTo((long) (ticks.size() - 101) * INTERVAL);
+    }
+
+    @Test
+    void ownGridAloneNeverMovesTheTicks() {
+        final PollingCadence cadence = newCadence();
+        final List<Long> ticks = run(cadence, 200, false);
+
+        // Every poll sees a new payload, but each bracket spans a whole interval and says nothing about the phase.
+        assertThat(cadence.getPhaseOffsetMs()).isEqualTo(-1);
+
+        for (int i = 1; i < ticks.size(); i++) {
+            assertThat(ticks.get(i) - ticks.get(i - 1)).isEqualTo(INTERVAL);
+        }
+    }
+
+    @Test
+    void bracketsFromIrregularPollsNarrowDownThePhase() {
+        final PollingCadence cadence = newCadence();
+        long now = 1_699_999_995_000L;
+        cadence.nextTick(now, INTERVAL);
+
+        // Polls that drift against the refresh (overruns, mode changes, manual refreshes) each bracket it a little
+        // differently; intersecting them pins it down without an Age header.
+        final Random random = new Random(42);
+        long lastPeriod = Long.MIN_VALUE;
+
+        for (int i = 0; i < 400; i++) {
+            now += 5_000 + random.nextInt(9_000);
+            final long period = Math.floorDiv(now - REFRESH_PHASE, INTERVAL);
+            final ApiFetchResult result = period != lastPeriod ? ApiFetchResult.updated(null) : ApiFetchResult.notModified();
+            lastPeriod = period;
+
+            cadence.recordPoll(now, now + RESPONSE_TIME, result);
+        }
+
+        final long tick = cadence.nextTick(now, INTERVAL);
+
+        assertThat(cadence.getPhaseOffsetMs()).isCloseTo(REFRESH_PHASE + LANDING_MARGIN, within(500L));
+        assertThat(Math.floorMod(tick, (long) INTERVAL)).isCloseTo(REFRESH_PHASE + LANDING_MARGIN, within(500L));
+    }
+
+    private static PollingCadence newCadence() {
+        return new PollingCadence(new SimpleMeterRegistry(), true, LANDING_MARGIN, 16, 4, 0.8, 2_000);
+    }
+
+    // Drives the cadence as the poller does, answering each poll from an upstream with a fixed refresh period.
+    private static List<Long> run(final PollingCadence cadence, final int polls, final boolean sendAge) {
+        final List<Long> ticks = new ArrayList<>(polls);
+        // Start well away from the refresh phase so aligning takes real shifts.
+        long now = 1_699_999_995_000L + 12_345;
+
+        for (int i = 0; i < polls; i++) {
+            final long tick = cadence.nextTick(now, INTERVAL);
+            ticks.add(tick);
+            now = tick;
+
+            final long respondedAt = tick + RESPONSE_TIME;
+            final long lastRefresh = Math.floorDiv(respondedAt - REFRESH_PHASE, INTERVAL) * INTERVAL + REFRESH_PHASE;
+            final ApiFetchResult result = ApiFetchResult.updated(null);
+
+            cadence.recordPoll(tick, respondedAt, sendAge ? result.withUpstreamAge(respondedAt - lastRefresh) : result);
+        }
+
+        return ticks;
+    }
+
+    private static void assertNeverFasterThanInterval(final List<Long> ticks) {
+        for (int i = 1; i < ticks.size(); i++) {
+            assertThat(ticks.get(i) - ticks.get(i - 1)).isGreaterThanOrEqualTo(INTERVAL);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package quest.gekko.spiketracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import quest.gekko.spiketracker.model.match.LiveMatchSnapshot;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+import quest.gekko.spiketracker.util.VirtualTimeSource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotFileStoreTest {
+
+    @Test
+    void savedAtComesFromTheTimeSource(@TempDir final Path dir) {
+        final VirtualTimeSource timeSource = new VirtualTimeSource(1_750_000_000_000L);
+        final SnapshotFileStore store = new SnapshotFileStore(new ObjectMapper(), new SimpleMeterRegistry(), timeSource,
+                true, dir.resolve("live_snapshot.json.gz").toString());
+
+        timeSource.advance(Duration.ofHours(3));
+        store.offer(LiveMatchSnapshot.of(7, timeSource.instant(), List.of(segment())));
+        store.flush();
+
+        final SnapshotFileStore.StoredSnapshot stored = store.load().orElseThrow();
+
+        assertThat(stored.version()).isEqualTo(7);
+        assertThat(stored.savedAt()).isEqualTo(timeSource.currentTimeMillis());
+        assertThat(stored.matches()).containsExactly(segment());
+    }
+
+    private static MatchSegment segment() {
+        return new MatchSegment(
+                "Sentinels", "FNATIC",
+                null, null,
+                null, null,
+                "1", "0",
+                null, null,
+                null, null,
+                "2", "Lotus",
+                "LIVE",
+                "Champions Tour 2025: Masters Toronto", "Playoffs",
+                null,
+                "https://www.vlr.gg/498628/sentinels-vs-fnatic",
+                "https://www.twitch.tv/valorant"
+        );
+    }
+}
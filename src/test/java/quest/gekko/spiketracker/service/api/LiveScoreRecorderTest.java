@@ -0,0 +1,89 @@
+package quest.gekko.spiketracker.service.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveScoreRecorderTest {
+
+    @Test
+    void recordedBodiesReadBackInOrder(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("live_score.rec");
+        final LiveScoreRecorder recorder = new LiveScoreRecorder(new SimpleMeterRegistry(), true, path.toString());
+
+        recorder.record(1_000L, body("{\"segments\":[]}"));
+        recorder.record(2_000L, body(""));
+        recorder.record(3_000L, body("{\"segments\":[{\"team1\":\"Sentinels\"}]}"));
+        recorder.shutdown();
+
+        try (LiveScoreRecorder.Reader reader = new LiveScoreRecorder.Reader(path)) {
+            assertEntry(reader.next(), 1_000L, "{\"segments\":[]}");
+            assertEntry(reader.next(), 2_000L, "");
+            assertEntry(reader.next(), 3_000L, "{\"segments\":[{\"team1\":\"Sentinels\"}]}");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void lengthPastTheEndOfTheFileStopsReading(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("live_score.rec");
+
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            out.writeInt(LiveScoreRecorder.MAGIC);
+            writeEntry(out, 1_000L, body("intact"));
+
+            // Cut short by a crash: claims more bytes than the file has left.
+            out.writeLong(2_000L);
+            out.writeInt(100);
+            out.write(body("partial"));
+        }
+
+        try (LiveScoreRecorder.Reader reader = new LiveScoreRecorder.Reader(path)) {
+            assertEntry(reader.next(), 1_000L, "intact");
+            assertThat(reader.next()).isNull();
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void corruptLengthIsNeverAllocated(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("live_score.rec");
+
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            out.writeInt(LiveScoreRecorder.MAGIC);
+            out.writeLong(1_000L);
+            out.writeInt(Integer.MAX_VALUE);
+            out.writeLong(2_000L);
+            out.writeInt(-1);
+        }
+
+        try (LiveScoreRecorder.Reader reader = new LiveScoreRecorder.Reader(path)) {
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    private static void writeEntry(final DataOutputStream out, final long receivedAt, final byte[] body)
+            throws IOException {
+        out.writeLong(receivedAt);
+        out.writeInt(body.length);
+        out.write(body);
+    }
+
+    private static void assertEntry(final LiveScoreRecorder.Entry entry, final long receivedAt, final String body) {
+        assertThat(entry).isNotNull();
+        assertThat(entry.receivedAt()).isEqualTo(receivedAt);
+        assertThat(new String(entry.body(), StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    private static byte[] body(final String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,192 @@
+package quest.gekko.spiketracker.service.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import quest.gekko.spiketracker.config.ApplicationProperties;
+import quest.gekko.spiketracker.model.api.ApiFetchResult;
+import quest.gekko.spiketracker.simulator.VlrggApiSimulator;
+import quest.gekko.spiketracker.util.StringPool;
+import quest.gekko.spiketracker.util.TimeSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VlrggMatchApiClientTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private VlrggApiSimulator simulator;
+    private VlrggMatchApiClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+
+    @Test
+    void concurrentCallersShareOneUpstreamRequest() throws Exception {
+        simulator = VlrggApiSimulator.builder().liveMatches(5).roundIntervalMs(60_000).latency(300, 0).start();
+        client = newClient(false, 0.95, 10, 20, 250);
+
+        final int callers = 16;
+        final ExecutorService executor = Executors.newFixedThreadPool(callers);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<CompletableFuture<ApiFetchResult>>> submitted = new ArrayList<>(callers);
+
+        try {
+            for (int i = 0; i < callers; i++) {
+                submitted.add(executor.submit(() -> {
+                    start.await();
+                    return client.fetchLiveMatchDataAsync();
+                }));
+            }
+
+            start.countDown();
+
+            final List<CompletableFuture<ApiFetchResult>> futures = new ArrayList<>(callers);
+
+            for (final Future<CompletableFuture<ApiFetchResult>> future : submitted) {
+                futures.add(future.get(5, TimeUnit.SECONDS));
+            }
+
+            for (final CompletableFuture<ApiFetchResult> future : futures) {
+                assertThat(future).isSameAs(futures.get(0));
+                assertThat(future.get(5, TimeUnit.SECONDS).isUpdated()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(simulator.getRequests()).isEqualTo(1);
+        assertThat(registry.counter("vlrgg.api.coalesced").count()).isEqualTo(callers - 1);
+
+        // Once it has completed, the next caller goes upstream again rather than reusing the old answer.
+        assertThat(client.fetchLiveMatchData().isNotModified()).isTrue();
+        assertThat(simulator.getRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void hedgeIsSentOnlyOnceThePercentileDelayHasPassed() throws Exception {
+        simulator = VlrggApiSimulator.builder().liveMatches(5).roundIntervalMs(60_000).latency(150, 0).start();
+        // A 1 ms floor, so the delay is whatever the observed median works out to.
+        client = newClient(true, 0.5, 100, 20, 1);
+
+        warmUp(20);
+        simulator.setLatency(1_000, 0);
+
+        final long startedAt = System.nanoTime();
+        final CompletableFuture<ApiFetchResult> result = client.fetchLiveMatchDataAsync();
+
+        // Well inside the ~150 ms median: only the primary is on the wire.
+        Thread.sleep(60);
+        assertThat(simulator.getRequests()).isEqualTo(21);
+
+        awaitRequests(22);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(100);
+        assertThat(registry.counter("vlrgg.api.hedges", "outcome", "sent").count()).isEqualTo(1);
+
+        assertThat(result.get(5, TimeUnit.SECONDS).isFailed()).isFalse();
+    }
+
+    @Test
+    void fastResponsesAreNeverHedged() throws Exception {
+        simulator = VlrggApiSimulator.builder().liveMatches(5).roundIntervalMs(60_000).start();
+        client = newClient(true, 0.5, 100, 20, 250);
+
+        warmUp(40);
+
+        assertThat(simulator.getRequests()).isEqualTo(40);
+        assertThat(registry.counter("vlrgg.api.hedges", "outcome", "sent").count()).isZero();
+    }
+
+    @Test
+    void hedgeBudgetCapsHedgedCalls() throws Exception {
+        simulator = VlrggApiSimulator.builder().liveMatches(5).roundIntervalMs(60_000).start();
+        // 5% of calls: after 20 fast warm-up calls there is room for exactly one hedge until call 40.
+        client = newClient(true, 0.5, 5, 20, 50);
+
+        warmUp(20);
+        simulator.setLatency(300, 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.fetchLiveMatchDataAsync().get(5, TimeUnit.SECONDS).isFailed()).isFalse();
+        }
+
+        assertThat(registry.counter("vlrgg.api.hedges", "outcome", "sent").count()).isEqualTo(1);
+        assertThat(registry.counter("vlrgg.api.hedges", "outcome", "budget_exhausted").count()).isEqualTo(2);
+        assertThat(simulator.getRequests()).isEqualTo(20 + 3 + 1);
+    }
+
+    @Test
+    void losingAttemptIsCancelled() throws Exception {
+        simulator = VlrggApiSimulator.builder().liveMatches(5).roundIntervalMs(60_000).start();
+        client = newClient(true, 0.5, 100, 20, 100);
+
+        warmUp(20);
+
+        // The primary is held for two seconds; by the time the hedge goes out upstream has recovered.
+        simulator.setLatency(2_000, 0);
+        final long startedAt = System.nanoTime();
+        final CompletableFuture<ApiFetchResult> result = client.fetchLiveMatchDataAsync();
+
+        awaitRequests(21);
+        simulator.setLatency(0, 0);
+
+        assertThat(result.get(5, TimeUnit.SECONDS).isFailed()).isFalse();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(1_500);
+
+        assertThat(simulator.getRequests()).isEqualTo(22);
+        assertThat(registry.counter("vlrgg.api.hedges", "outcome", "won").count()).isEqualTo(1);
+        assertThat(registry.counter("vlrgg.api.hedges", "outcome", "cancelled").count()).isEqualTo(1);
+    }
+
+    private void warmUp(final int calls) throws Exception {
+        for (int i = 0; i < calls; i++) {
+            assertThat(client.fetchLiveMatchDataAsync().get(5, TimeUnit.SECONDS).isFailed()).isFalse();
+        }
+    }
+
+    private void awaitRequests(final long expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (simulator.getRequests() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThat(simulator.getRequests()).isEqualTo(expected);
+    }
+
+    private VlrggMatchApiClient newClient(final boolean hedgingEnabled, final double hedgePercentile,
+                                          final double hedgeBudgetPercent, final long hedgeMinSamples,
+                                          final long hedgeMinDelayMs) {
+        final VlrggMatchApiClient created = new VlrggMatchApiClient(
+                new LiveScoreParser(new ObjectMapper(), new StringPool(registry, 4096, 40)),
+                new LiveScoreRecorder(registry, false, "unused"),
+                new ApplicationProperties.VlrggApi(simulator.baseUrl()),
+                registry,
+                TimeSource.system(),
+                3, 60_000, 1,
+                2_000, 5_000, 10,
+                hedgingEnabled, hedgePercentile, hedgeBudgetPercent, hedgeMinSamples, hedgeMinDelayMs
+        );
+
+        created.validateConfiguration();
+        return created;
+    }
+}
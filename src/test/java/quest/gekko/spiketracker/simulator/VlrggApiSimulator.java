@@ -0,0 +1,437 @@
+package quest.gekko.spiketracker.simulator;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import quest.gekko.spiketracker.model.api.VlrggApiResponse;
+import quest.gekko.spiketracker.model.match.LiveMatchData;
+import quest.gekko.spiketracker.model.match.MatchSegment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the vlrggapi {@code /match} endpoint. Serves {@code q=live_score} and {@code q=upcoming}
+ * in the exact shape of {@link VlrggApiResponse}, with a configurable number of best-of-three matches that play
+ * rounds, switch maps, finish and get replaced by new ones. Latency, 5xx errors and 429s can be injected and
+ * changed while running.
+ * <p>
+ * Point {@code vlrgg.api.base-url} at {@link #baseUrl()} to drive the full pipeline without network access.
+ * Run {@link #main(String[])} to keep one up for manual load tests.
+ */
+public class VlrggApiSimulator implements AutoCloseable {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String[] MAPS = {"Ascent", "Bind", "Haven", "Lotus", "Sunset", "Icebox", "Split"};
+    private static final String[] TEAMS = {
+            "Sentinels", "Paper Rex", "Fnatic", "LOUD", "DRX", "Team Heretics", "G2 Esports", "EDward Gaming",
+            "Gen.G", "Leviatan", "Team Liquid", "NRG", "T1", "FUT Esports", "KRU Esports", "ZETA DIVISION"
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private final HttpServer server;
+    private final ScheduledExecutorService scheduler;
+
+    private final int upcomingMatches;
+    private final List<SimulatedMatch> matches = new ArrayList<>();
+    private final AtomicInteger nextMatchId = new AtomicInteger(500_000);
+
+    private volatile long latencyMs;
+    private volatile long latencyJitterMs;
+    private volatile double errorRate;
+    private volatile double rateLimitRate;
+
+    // Body and ETag are rebuilt once per simulation step and shared by every request in between.
+    private volatile byte[] liveBody;
+    private volatile String liveEtag;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong injectedRateLimits = new AtomicLong();
+    private final AtomicLong completedMatches = new AtomicLong();
+
+    private VlrggApiSimulator(final Builder builder) throws IOException {
+        this.upcomingMatches = builder.upcomingMatches;
+        this.latencyMs = builder.latencyMs;
+        this.latencyJitterMs = builder.latencyJitterMs;
+        this.errorRate = builder.errorRate;
+        this.rateLimitRate = builder.rateLimitRate;
+
+        for (int i = 0; i < builder.liveMatches; i++) {
+            matches.add(newMatch());
+        }
+
+        render();
+
+        this.scheduler = Executors.newScheduledThreadPool(builder.threads, runnable -> {
+            final Thread thread = new Thread(runnable, "vlrgg-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", builder.port), 512);
+        this.server.createContext("/match", this::handle);
+        this.server.setExecutor(scheduler);
+        this.server.start();
+
+        scheduler.scheduleAtFixedRate(this::step, builder.roundIntervalMs, builder.roundIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setLatency(final long latencyMs, final long jitterMs) {
+        this.latencyMs = latencyMs;
+        this.latencyJitterMs = jitterMs;
+    }
+
+    public void setErrorRate(final double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public void setRateLimitRate(final double rateLimitRate) {
+        this.rateLimitRate = rateLimitRate;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    public long getInjectedRateLimits() {
+        return injectedRateLimits.get();
+    }
+
+    public long getCompletedMatches() {
+        return completedMatches.get();
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Advances every match by one step immediately, regardless of the round interval.
+     */
+    public synchronized void step() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < matches.size(); i++) {
+            final SimulatedMatch match = matches.get(i);
+
+            // Not every match plays a round every step, so updates arrive staggered like the real feed.
+            if (random.nextInt(3) != 0) {
+                continue;
+            }
+
+            if (match.playRound(random.nextBoolean())) {
+                completedMatches.incrementAndGet();
+                matches.set(i, newMatch());
+            }
+        }
+
+        render();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        scheduler.shutdownNow();
+    }
+
+    private synchronized void render() {
+        final List<MatchSegment> segments = new ArrayList<>(matches.size());
+
+        for (final SimulatedMatch match : matches) {
+            segments.add(match.toSegment());
+        }
+
+        liveBody = serialize(segments);
+        liveEtag = "\"" + generation.incrementAndGet() + "\"";
+    }
+
+    private byte[] serialize(final List<MatchSegment> segments) {
+        try {
+            return objectMapper.writeValueAsBytes(new VlrggApiResponse(new LiveMatchData(200, segments)));
+        } catch (final JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void handle(final HttpExchange exchange) {
+        requests.incrementAndGet();
+
+        final long delay = latencyMs + (latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs + 1) : 0);
+
+        if (delay > 0) {
+            scheduler.schedule(() -> respond(exchange), delay, TimeUnit.MILLISECONDS);
+        } else {
+            respond(exchange);
+        }
+    }
+
+    private void respond(final HttpExchange exchange) {
+        try (exchange) {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final String query = exchange.getRequestURI().getQuery();
+
+            if (random.nextDouble() < rateLimitRate) {
+                injectedRateLimits.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+
+            if (random.nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+
+            if ("q=upcoming".equals(query)) {
+                send(exchange, serialize(upcomingSegments()), null);
+            } else if ("q=live_score".equals(query)) {
+                final byte[] body = liveBody;
+                final String etag = liveEtag;
+
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.getResponseHeaders().set("ETag", etag);
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+
+                send(exchange, body, etag);
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+            }
+        } catch (final IOException e) {
+            // Client went away; nothing to do.
+        }
+    }
+
+    private static void send(final HttpExchange exchange, final byte[] body, final String etag) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+
+        if (etag != null) {
+            exchange.getResponseHeaders().set("ETag", etag);
+        }
+
+        exchange.sendResponseHeaders(200, body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private List<MatchSegment> upcomingSegments() {
+        final LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        final List<MatchSegment> segments = new ArrayList<>(upcomingMatches);
+
+        for (int i = 0; i < upcomingMatches; i++) {
+            final int id = 900_000 + i;
+            final LocalDateTime start = now.plusMinutes(30L * (i + 1));
+
+            segments.add(new MatchSegment(
+                    TEAMS[i % TEAMS.length], TEAMS[(i + 1) % TEAMS.length],
+                    "flag_un", "flag_un",
+                    "https://owcdn.net/img/" + id + ".png", "https://owcdn.net/img/" + (id + 1) + ".png",
+                    "", "",
+                    null, null, null, null,
+                    null, null,
+                    (30 * (i + 1) / 60) + "h " + (30 * (i + 1) % 60) + "m from now",
+                    "Simulated Event", "Group Stage",
+                    start.format(TIMESTAMP),
+                    "https://www.vlr.gg/" + id + "/simulated-upcoming-" + id,
+                    null
+            ));
+        }
+
+        return segments;
+    }
+
+    private SimulatedMatch newMatch() {
+        final int id = nextMatchId.incrementAndGet();
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int team1 = random.nextInt(TEAMS.length);
+        final int team2 = (team1 + 1 + random.nextInt(TEAMS.length - 1)) % TEAMS.length;
+
+        return new SimulatedMatch(id, TEAMS[team1], TEAMS[team2], random.nextInt(MAPS.length));
+    }
+
+    private static final class SimulatedMatch {
+        private static final int ROUNDS_TO_WIN = 13;
+        private static final int HALF = 12;
+
+        private final int id;
+        private final String team1;
+        private final String team2;
+        private final int firstMap;
+        // Fixed when the match goes live, as upstream does; a value that moved on every render would look like a
+        // timing change to the tracker on every poll.
+        private final String startedAt = LocalDateTime.now(ZoneOffset.UTC).format(TIMESTAMP);
+
+        private int mapNumber = 1;
+        private int maps1;
+        private int maps2;
+        private final int[] rounds1 = new int[2];
+        private final int[] rounds2 = new int[2];
+
+        private SimulatedMatch(final int id, final String team1, final String team2, final int firstMap) {
+            this.id = id;
+            this.team1 = team1;
+            this.team2 = team2;
+            this.firstMap = firstMap;
+        }
+
+        /**
+         * Plays one round and returns true once the series is over.
+         */
+        private boolean playRound(final boolean team1Wins) {
+            final int half = rounds1[0] + rounds1[1] + rounds2[0] + rounds2[1] < HALF ? 0 : 1;
+
+            if (team1Wins) {
+                rounds1[half]++;
+            } else {
+                rounds2[half]++;
+            }
+
+            final int total1 = rounds1[0] + rounds1[1];
+            final int total2 = rounds2[0] + rounds2[1];
+
+            if (total1 < ROUNDS_TO_WIN && total2 < ROUNDS_TO_WIN) {
+                return false;
+            }
+
+            if (total1 > total2) {
+                maps1++;
+            } else {
+                maps2++;
+            }
+
+            if (maps1 == 2 || maps2 == 2) {
+                return true;
+            }
+
+            mapNumber++;
+            rounds1[0] = rounds1[1] = rounds2[0] = rounds2[1] = 0;
+            return false;
+        }
+
+        private MatchSegment toSegment() {
+            // Team 1 starts on attack; sides swap at the half.
+            return new MatchSegment(
+                    team1, team2,
+                    "flag_un", "flag_un",
+                    "https://owcdn.net/img/" + id + ".png", "https://owcdn.net/img/" + (id + 1) + ".png",
+                    String.valueOf(maps1), String.valueOf(maps2),
+                    String.valueOf(rounds1[1]), String.valueOf(rounds1[0]),
+                    String.valueOf(rounds2[0]), String.valueOf(rounds2[1]),
+                    String.valueOf(mapNumber), MAPS[(firstMap + mapNumber - 1) % MAPS.length],
+                    "LIVE",
+                    "Simulated Event", "Playoffs",
+                    startedAt,
+                    "https://www.vlr.gg/" + id + "/simulated-match-" + id,
+                    null
+            );
+        }
+    }
+
+    public static final class Builder {
+        private int port = 0;
+        private int liveMatches = 10;
+        private int upcomingMatches = 5;
+        private long roundIntervalMs = 1000;
+        private long latencyMs = 0;
+        private long latencyJitterMs = 0;
+        private double errorRate = 0;
+        private double rateLimitRate = 0;
+        private int threads = 4;
+
+        private Builder() {
+        }
+
+        /** Port to bind on 127.0.0.1; 0 picks a free one. */
+        public Builder port(final int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder liveMatches(final int liveMatches) {
+            this.liveMatches = liveMatches;
+            return this;
+        }
+
+        public Builder upcomingMatches(final int upcomingMatches) {
+            this.upcomingMatches = upcomingMatches;
+            return this;
+        }
+
+        /** Wall-clock time per simulation step. Real rounds take roughly 100 seconds, so 1000 ms is about 100x. */
+        public Builder roundIntervalMs(final long roundIntervalMs) {
+            this.roundIntervalMs = roundIntervalMs;
+            return this;
+        }
+
+        public Builder latency(final long latencyMs, final long jitterMs) {
+            this.latencyMs = latencyMs;
+            this.latencyJitterMs = jitterMs;
+            return this;
+        }
+
+        public Builder errorRate(final double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Builder rateLimitRate(final double rateLimitRate) {
+            this.rateLimitRate = rateLimitRate;
+            return this;
+        }
+
+        public Builder threads(final int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public VlrggApiSimulator start() throws IOException {
+            return new VlrggApiSimulator(this);
+        }
+    }
+
+    /**
+     * Starts a simulator until interrupted. Arguments: {@code [port] [liveMatches] [roundIntervalMs]}.
+     */
+    public static void main(final String[] args) throws Exception {
+        final VlrggApiSimulator simulator = VlrggApiSimulator.builder()
+                .port(args.length > 0 ? Integer.parseInt(args[0]) : 8089)
+                .liveMatches(args.length > 1 ? Integer.parseInt(args[1]) : 200)
+                .roundIntervalMs(args.length > 2 ? Long.parseLong(args[2]) : 1000)
+                .start();
+
+        System.out.println("vlrgg simulator listening on " + simulator.baseUrl());
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,114 @@
+package quest.gekko.spiketracker.simulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import quest.gekko.spiketracker.config.ApplicationProperties;
+import quest.gekko.spiketracker.model.api.ApiFetchResult;
+import quest.gekko.spiketracker.service.api.LiveScoreParser;
+import quest.gekko.spiketracker.service.api.LiveScoreRecorder;
+import quest.gekko.spiketracker.service.api.VlrggMatchApiClient;
+import quest.gekko.spiketracker.util.StringPool;
+import quest.gekko.spiketracker.util.TimeSource;
+import quest.gekko.spiketracker.util.VirtualTimeSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VlrggApiSimulatorTest {
+    private static final long START = 1_750_000_000_000L;
+
+    private VlrggApiSimulator simulator;
+    private VlrggMatchApiClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+
+    @Test
+    void clientParsesHundredsOfSimulatedMatches() throws IOException {
+        simulator = VlrggApiSimulator.builder().liveMatches(300).roundIntervalMs(60_000).start();
+        client = newClient(simulator.baseUrl());
+
+        final ApiFetchResult first = client.fetchLiveMatchData();
+        assertThat(first.isUpdated()).isTrue();
+        assertThat(first.data().segments()).hasSize(300);
+
+        // Same generation: answered with 304 via the ETag the simulator hands out.
+        assertThat(client.fetchLiveMatchData().isNotModified()).isTrue();
+
+        simulator.step();
+        assertThat(client.fetchLiveMatchData().isUpdated()).isTrue();
+    }
+
+    @Test
+    void injectedRateLimitsOpenTheCircuitBreaker() throws IOException {
+        simulator = VlrggApiSimulator.builder().liveMatches(5).rateLimitRate(1.0).start();
+        client = newClient(simulator.baseUrl());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.fetchLiveMatchData().isFailed()).isTrue();
+        }
+
+        assertThat(client.isHealthy()).isFalse();
+        assertThat(simulator.getInjectedRateLimits()).isEqualTo(3);
+
+        // Breaker is open, so this call never reaches the simulator.
+        assertThat(client.fetchLiveMatchData().isFailed()).isTrue();
+        assertThat(simulator.getRequests()).isEqualTo(3);
+    }
+
+    @Test
+    void responsesAreStampedWithTheInjectedClock(@TempDir final Path dir) throws IOException {
+        final VirtualTimeSource timeSource = new VirtualTimeSource(START);
+        final Path recording = dir.resolve("live_score.rec");
+        final LiveScoreRecorder recorder = new LiveScoreRecorder(new SimpleMeterRegistry(), true, recording.toString());
+
+        simulator = VlrggApiSimulator.builder().liveMatches(2).start();
+        client = newClient(simulator.baseUrl(), recorder, timeSource);
+
+        timeSource.advance(Duration.ofHours(2));
+        assertThat(client.fetchLiveMatchData().isUpdated()).isTrue();
+        recorder.shutdown();
+
+        assertThat(client.getHealthDetails().get("lastSuccessfulCall")).isEqualTo(timeSource.localDateTime());
+
+        try (LiveScoreRecorder.Reader reader = new LiveScoreRecorder.Reader(recording)) {
+            assertThat(reader.next().receivedAt()).isEqualTo(timeSource.currentTimeMillis());
+        }
+    }
+
+    private static VlrggMatchApiClient newClient(final String baseUrl) {
+        return newClient(baseUrl, new LiveScoreRecorder(new SimpleMeterRegistry(), false, "unused"), TimeSource.system());
+    }
+
+    private static VlrggMatchApiClient newClient(final String baseUrl, final LiveScoreRecorder recorder,
+                                                 final TimeSource timeSource) {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final VlrggMatchApiClient client = new VlrggMatchApiClient(
+                new LiveScoreParser(new ObjectMapper(), new StringPool(registry, 4096, 40)),
+                recorder,
+                new ApplicationProperties.VlrggApi(baseUrl),
+                registry,
+                timeSource,
+                3, 60_000, 1,
+                2_000, 5_000, 10,
+                false, 0.95, 10, 20, 250
+        );
+
+        client.validateConfiguration();
+        return client;
+    }
+}
@@ -0,0 +1,161 @@
+package quest.gekko.spiketracker.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+    // Long enough that a test never sees a half-open round time out by accident, short enough to wait out.
+    private static final long OPEN_TIMEOUT_MS = 300;
+
+    private static final int MAX_FIELD = 2047;
+
+    @Test
+    void opensAfterThresholdThenProbesAndCloses() throws InterruptedException {
+        final CircuitBreaker breaker = newBreaker(3, 2);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getConsecutiveFailures()).isEqualTo(2);
+
+        // A success in between starts the count again.
+        breaker.onSuccess();
+        assertThat(breaker.getConsecutiveFailures()).isZero();
+
+        tripOpen(breaker, 3);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        waitOutOpenTimeout();
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void failedProbeReopens() throws InterruptedException {
+        final CircuitBreaker breaker = newBreaker(1, 1);
+
+        tripOpen(breaker, 1);
+        waitOutOpenTimeout();
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void concurrentCallersGetExactlyThePermittedProbes() throws Exception {
+        final int probes = 3;
+        final int callers = 32;
+        final CircuitBreaker breaker = newBreaker(1, probes);
+
+        tripOpen(breaker, 1);
+        waitOutOpenTimeout();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(callers);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Boolean>> results = new ArrayList<>(callers);
+
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return breaker.tryAcquirePermission();
+                }));
+            }
+
+            start.countDown();
+
+            int granted = 0;
+
+            for (final Future<Boolean> result : results) {
+                if (result.get(5, TimeUnit.SECONDS)) {
+                    granted++;
+                }
+            }
+
+            assertThat(granted).isEqualTo(probes);
+            assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void countersUseTheFullElevenBitsWithoutSpillingIntoNeighbours() throws InterruptedException {
+        final CircuitBreaker breaker = newBreaker(MAX_FIELD, MAX_FIELD);
+
+        for (int i = 0; i < MAX_FIELD - 1; i++) {
+            breaker.onFailure();
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getConsecutiveFailures()).isEqualTo(MAX_FIELD - 1);
+
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        waitOutOpenTimeout();
+
+        for (int i = 0; i < MAX_FIELD; i++) {
+            assertThat(breaker.tryAcquirePermission()).isTrue();
+        }
+
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        for (int i = 0; i < MAX_FIELD - 1; i++) {
+            breaker.onSuccess();
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getConsecutiveFailures()).isZero();
+    }
+
+    @Test
+    void rejectsLimitsThatDoNotFitTheirField() {
+        assertThatThrownBy(() -> newBreaker(MAX_FIELD + 1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> newBreaker(1, MAX_FIELD + 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> newBreaker(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CircuitBreaker newBreaker(final int failureThreshold, final int halfOpenProbes) {
+        return new CircuitBreaker("test", failureThreshold, OPEN_TIMEOUT_MS, halfOpenProbes, new SimpleMeterRegistry());
+    }
+
+    private static void tripOpen(final CircuitBreaker breaker, final int failureThreshold) {
+        for (int i = 0; i < failureThreshold; i++) {
+            breaker.onFailure();
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private static void waitOutOpenTimeout() throws InterruptedException {
+        Thread.sleep(OPEN_TIMEOUT_MS + 50);
+    }
+}
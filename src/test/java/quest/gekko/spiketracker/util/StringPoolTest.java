@@ -0,0 +1,118 @@
+package quest.gekko.spiketracker.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringPoolTest {
+    // Matches StringPool.SWEEP_EVERY_GENERATIONS.
+    private static final int SWEEP_EVERY = 8;
+
+    @Test
+    void equalStringsComeBackAsOneInstance() {
+        final StringPool pool = new StringPool(new SimpleMeterRegistry(), 16, 40);
+
+        final String first = pool.canonicalize(new String("Sentinels"));
+        final String second = pool.canonicalize(new String("Sentinels"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(pool.canonicalize(null)).isNull();
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    void fullPoolPassesNewStringsThroughUnpooled() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final StringPool pool = new StringPool(registry, 1, 40);
+
+        pool.canonicalize("Sentinels");
+        final String fnatic = new String("FNATIC");
+
+        assertThat(pool.canonicalize(fnatic)).isSameAs(fnatic);
+        assertThat(pool.canonicalize(new String("FNATIC"))).isNotSameAs(fnatic);
+        assertThat(pool.size()).isEqualTo(1);
+        assertThat(registry.counter("string.pool.lookups", "result", "rejected").count()).isEqualTo(2);
+    }
+
+    @Test
+    void entriesUnusedForRetainGenerationsAreSwept() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final StringPool pool = new StringPool(registry, 16, SWEEP_EVERY);
+
+        final String sentinels = pool.canonicalize(new String("Sentinels"));
+        pool.canonicalize("FNATIC");
+
+        // Sentinels keeps playing, FNATIC drops out after the first parse.
+        for (int i = 0; i < SWEEP_EVERY; i++) {
+            pool.nextGeneration();
+            pool.canonicalize("Sentinels");
+        }
+
+        // First sweep at generation 8 only drops entries last seen before generation 0.
+        assertThat(pool.size()).isEqualTo(2);
+
+        for (int i = 0; i < SWEEP_EVERY; i++) {
+            pool.nextGeneration();
+            pool.canonicalize("Sentinels");
+        }
+
+        assertThat(pool.size()).isEqualTo(1);
+        assertThat(pool.canonicalize(new String("Sentinels"))).isSameAs(sentinels);
+        assertThat(registry.counter("string.pool.evictions").count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentGenerationsAreNeverLost() throws Exception {
+        final int threads = 8;
+        final int perThread = 1_000;
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final StringPool pool = new StringPool(registry, 16, (long) threads * perThread);
+
+        pool.canonicalize("Sentinels");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> results = new ArrayList<>(threads);
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+
+                    for (int j = 0; j < perThread; j++) {
+                        pool.nextGeneration();
+                    }
+
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (final Future<?> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Seen at generation 0 and retained for exactly as many generations as were run: one more sweep drops it
+        // only if no increment was lost along the way.
+        assertThat(pool.size()).isEqualTo(1);
+
+        for (int i = 0; i < SWEEP_EVERY; i++) {
+            pool.nextGeneration();
+        }
+
+        assertThat(pool.size()).isZero();
+    }
+}